@@ -2,8 +2,12 @@ package com.agendapulse.apigateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+import com.agendapulse.apigateway.config.AgendaProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(AgendaProperties.class)
 public class ApiGatewayApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,111 @@
+package com.agendapulse.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Per-user cache of GET responses, grouped by route so a write can drop everything
+ * a user has cached for that route in one step. Bounded by the total size of cached bodies.
+ */
+@Component
+public class ResponseCache {
+
+    private final Cache<UserRoute, RouteEntries> cache;
+
+    public ResponseCache(@Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                         @Value("${gateway.response-cache.idle-expiry:10m}") Duration idleExpiry,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UserRoute key, RouteEntries entries) -> entries.weight())
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response-cache");
+    }
+
+    /**
+     * @return The cached response if it is younger than {@code ttl}, otherwise null.
+     */
+    public CachedResponse get(String userId, String routeId, String pathAndQuery, Duration ttl) {
+        RouteEntries entries = cache.getIfPresent(new UserRoute(userId, routeId));
+        if (entries == null) {
+            return null;
+        }
+        CachedResponse cached = entries.responses().get(pathAndQuery);
+        if (cached == null || System.nanoTime() - cached.storedAtNanos() > ttl.toNanos()) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Stores a response unless the user's entries for the route were invalidated after the
+     * request that produced it started, which would otherwise resurrect pre-write data.
+     */
+    public void put(String userId, String routeId, String pathAndQuery, CachedResponse response) {
+        cache.asMap().compute(new UserRoute(userId, routeId), (key, entries) -> {
+            if (entries == null) {
+                return new RouteEntries(Map.of(pathAndQuery, response), Long.MIN_VALUE);
+            }
+            if (entries.invalidatedAtNanos() - response.storedAtNanos() > 0) {
+                return entries;
+            }
+            // Copied on write so Caffeine re-weighs the whole group
+            Map<String, CachedResponse> updated = new HashMap<>(entries.responses());
+            updated.put(pathAndQuery, response);
+            return new RouteEntries(Map.copyOf(updated), entries.invalidatedAtNanos());
+        });
+    }
+
+    /**
+     * Drops every response the user has cached for the route.
+     */
+    public void invalidate(String userId, String routeId) {
+        cache.put(new UserRoute(userId, routeId), new RouteEntries(Map.of(), System.nanoTime()));
+    }
+
+    /**
+     * Builds a strong ETag from the response body.
+     */
+    public static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record UserRoute(String userId, String routeId) {
+    }
+
+    private record RouteEntries(Map<String, CachedResponse> responses, long invalidatedAtNanos) {
+
+        private int weight() {
+            long bytes = 0;
+            for (Map.Entry<String, CachedResponse> entry : responses.entrySet()) {
+                bytes += entry.getKey().length() + entry.getValue().body().length;
+            }
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+    }
+
+    /**
+     * @param storedAtNanos When the request that produced the response started, from {@link System#nanoTime()}.
+     */
+    public record CachedResponse(String etag, HttpHeaders headers, byte[] body, long storedAtNanos) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.agendapulse.apigateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AIMD concurrency limit for one downstream route.
+ * The limit grows by one per window of successful, fast responses while the route is
+ * actually busy, and is cut multiplicatively when a response is slow or fails. Like TCP's congestion window
+ * it is cut at most once per round trip: a slow response of a request that was already in flight at the last
+ * cut reports the same congestion again, so a burst of them costs one cut rather than one each.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long latencyThresholdNanos, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return true if a slot was taken and {@link #release} must be called, false if the request should be shed.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a slot and feeds the observed latency back into the limit.
+     * @param latencyNanos Time the downstream call took.
+     * @param dropped Whether the call failed or returned a server error.
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (dropped || latencyNanos > latencyThresholdNanos) {
+                if (!backedOff || now - latencyNanos - lastBackoffNanos > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    backedOff = true;
+                    lastBackoffNanos = now;
+                }
+            } else if (current * 2 >= limit) {
+                // Only grow while the limit is actually being used, otherwise it drifts up unchecked
+                limit = Math.min(maxLimit, limit + 1d / limit);
+            }
+        }
+    }
+
+    /**
+     * Returns a slot without adjusting the limit, e.g. when the client cancelled.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
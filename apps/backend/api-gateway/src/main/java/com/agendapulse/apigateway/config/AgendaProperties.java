@@ -0,0 +1,19 @@
+package com.agendapulse.apigateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Downstream legs of the aggregated {@code /api/agenda} endpoint.
+ */
+@ConfigurationProperties(prefix = "agenda")
+public record AgendaProperties(Leg tasks, Leg calendar, Leg notifications) {
+
+    /**
+     * @param serviceId Resolved through discovery like the gateway's {@code lb://} routes; also names the circuit breaker.
+     */
+    public record Leg(String serviceId, @DefaultValue("2s") Duration timeout) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.agendapulse.apigateway.config;
+
+import com.agendapulse.common.jwt.CaffeineClaimsCache;
+import com.agendapulse.common.jwt.JwtVerifier;
+import com.agendapulse.common.jwt.RevocationList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JwtVerifierConfig {
+
+    @Bean
+    public RevocationList revocationList(MeterRegistry meterRegistry) {
+        RevocationList revocations = new RevocationList();
+        Gauge.builder("gateway.jwt.revoked-tokens", revocations, RevocationList::size).register(meterRegistry);
+        return revocations;
+    }
+
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${jwt.secret}") String jwtSecret,
+                                   @Value("${jwt.cache.max-size:10000}") long maxSize,
+                                   RevocationList revocations,
+                                   MeterRegistry meterRegistry) {
+        CaffeineClaimsCache claimsCache = new CaffeineClaimsCache(maxSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache.nativeCache(), "gateway.jwt.verified-tokens");
+        return new JwtVerifier(jwtSecret, claimsCache, revocations);
+    }
+}
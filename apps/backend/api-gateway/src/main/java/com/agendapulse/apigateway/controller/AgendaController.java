@@ -0,0 +1,47 @@
+package com.agendapulse.apigateway.controller;
+
+import com.agendapulse.apigateway.dto.AgendaResponse;
+import com.agendapulse.apigateway.service.AgendaService;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serves {@code /api/agenda} through the {@code agenda} gateway route, which forwards here. The route carries
+ * authentication, rate limiting, the concurrency limit and route metrics like every proxied route.
+ */
+@RestController
+public class AgendaController {
+
+    private final AgendaService agendaService;
+
+    public AgendaController(AgendaService agendaService) {
+        this.agendaService = agendaService;
+    }
+
+    @GetMapping("/internal/agenda")
+    public Mono<AgendaResponse> getAgenda(
+            ServerWebExchange exchange,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        // Called directly rather than forwarded, none of the route filters ran
+        if (exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR) == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authenticated user");
+        }
+        return agendaService.getAgenda(userId, start, end, page, size);
+    }
+}
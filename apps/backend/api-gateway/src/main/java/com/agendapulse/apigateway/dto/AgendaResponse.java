@@ -0,0 +1,16 @@
+package com.agendapulse.apigateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * Dashboard payload assembled from task, calendar and notification services.
+ * A leg that failed or timed out is null and its reason is listed in {@code errors}.
+ */
+public record AgendaResponse(
+    JsonNode tasks,
+    JsonNode events,
+    Long unreadCount,
+    Map<String, String> errors
+) {}
@@ -0,0 +1,29 @@
+package com.agendapulse.apigateway.filter;
+
+import com.agendapulse.common.jwt.JwtVerifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * For filters that run ahead of {@link AuthenticationFilter} and need the caller's user id.
+ */
+final class BearerTokens {
+
+    private BearerTokens() {
+    }
+
+    /**
+     * @return The user id of a valid bearer token, or null so the request is left to {@link AuthenticationFilter}.
+     */
+    static String userIdOrNull(JwtVerifier jwtVerifier, ServerHttpRequest request) {
+        String token = JwtVerifier.bearerToken(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        if (token == null) {
+            return null;
+        }
+        try {
+            return jwtVerifier.verify(token).userId();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.agendapulse.apigateway.filter;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Exports and imports stream whole data sets, and import progress changes while it is polled.
+ * Filters that buffer, replay or repeat responses leave them alone.
+ */
+final class BulkTransfers {
+
+    private BulkTransfers() {
+    }
+
+    /**
+     * @return Whether the path has an {@code export} or {@code import} segment, e.g. {@code /api/tasks/export}
+     * or {@code /api/tasks/import/{importId}}.
+     */
+    static boolean isBulkTransfer(ServerHttpRequest request) {
+        for (String segment : request.getURI().getRawPath().split("/")) {
+            if (segment.equals("export") || segment.equals("import")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
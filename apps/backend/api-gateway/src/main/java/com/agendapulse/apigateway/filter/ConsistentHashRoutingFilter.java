@@ -0,0 +1,69 @@
+package com.agendapulse.apigateway.filter;
+
+import com.agendapulse.apigateway.routing.DiscoveryHashRings;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * Sends every request of a user to the same instance of a service by consistent hashing on the
+ * user id, e.g. so a WebSocket lands on the notification node that owns the user.
+ * Must come after {@link AuthenticationFilter}. Falls back to the route's own URI until the
+ * service's instances have been discovered.
+ */
+@Component
+public class ConsistentHashRoutingFilter extends AbstractGatewayFilterFactory<ConsistentHashRoutingFilter.Config> {
+
+    // Right after the route URI was resolved into the request URL, before the routing filters
+    private static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+
+    private final DiscoveryHashRings hashRings;
+
+    public ConsistentHashRoutingFilter(DiscoveryHashRings hashRings) {
+        super(Config.class);
+        this.hashRings = hashRings;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+            URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            if (userId == null || requestUrl == null) {
+                return chain.filter(exchange);
+            }
+
+            ServiceInstance instance = hashRings.instanceFor(config.getServiceId(), userId);
+            if (instance != null) {
+                // Keep the scheme (ws/http) of the route and only swap the target node
+                URI nodeUrl = UriComponentsBuilder.fromUri(requestUrl)
+                        .host(instance.getHost())
+                        .port(instance.getPort())
+                        .build(true)
+                        .toUri();
+                exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, nodeUrl);
+            }
+            return chain.filter(exchange);
+        }, ORDER);
+    }
+
+    public static class Config {
+
+        private String serviceId;
+
+        public String getServiceId() {
+            return serviceId;
+        }
+
+        public void setServiceId(String serviceId) {
+            this.serviceId = serviceId;
+        }
+    }
+}
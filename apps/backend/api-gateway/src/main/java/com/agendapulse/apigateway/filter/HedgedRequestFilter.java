@@ -0,0 +1,302 @@
+package com.agendapulse.apigateway.filter;
+
+import com.agendapulse.apigateway.routing.LatencyPercentile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hedges idempotent reads on load-balanced routes: if the chosen instance has not answered
+ * within the route's recent p95, the same request is sent to a second instance and whichever
+ * answers first wins. Only kicks in when the service has more than one instance, so at most
+ * about 5% of reads are duplicated. The first request goes through the normal routing filter and
+ * streams its response; only the backup is buffered, and a backup response over 16 MB is dropped in
+ * favour of the first request. Exports and imports are not hedged.
+ */
+@Component
+public class HedgedRequestFilter extends AbstractGatewayFilterFactory<HedgedRequestFilter.Config> {
+
+    // Right after the load balancer picked the primary instance, before the Netty routing filter
+    private static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    private static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+    private final Map<String, RouteHedging> routes = new ConcurrentHashMap<>();
+
+    public HedgedRequestFilter(LoadBalancerClientFactory loadBalancerClientFactory,
+                               ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                               MeterRegistry meterRegistry,
+                               WebClient.Builder webClientBuilder) {
+        super(Config.class);
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_BODY_BYTES))
+                .build();
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            URI primaryUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (route == null || primaryUrl == null || !"lb".equals(route.getUri().getScheme())
+                    || (method != HttpMethod.GET && method != HttpMethod.HEAD) || BulkTransfers.isBulkTransfer(exchange.getRequest())) {
+                return chain.filter(exchange);
+            }
+
+            RouteHedging hedging = routes.computeIfAbsent(route.getId(), id -> register(id, config));
+            String serviceId = route.getUri().getHost();
+            return backupUrl(serviceId, primaryUrl)
+                    .flatMap(backupUrl -> hedged(exchange, chain, hedging, config, backupUrl))
+                    .switchIfEmpty(Mono.defer(() -> timed(exchange, chain, hedging)));
+        }, ORDER);
+    }
+
+    /**
+     * Single instance: let the normal routing filter handle it and only learn the latency.
+     */
+    private Mono<Void> timed(ServerWebExchange exchange, GatewayFilterChain chain, RouteHedging hedging) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doOnSuccess(done -> hedging.latency().record(System.nanoTime() - start));
+    }
+
+    /**
+     * Races the primary's response headers against the whole backup response. The primary runs the rest of the
+     * chain on its own view of the exchange, so a primary that lost cannot touch the response the backup writes;
+     * a primary that won is adopted and its body streamed by the write response filter as usual.
+     */
+    private Mono<Void> hedged(ServerWebExchange exchange, GatewayFilterChain chain, RouteHedging hedging,
+                              Config config, URI backupUrl) {
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(List::of), exchange);
+        if (!Boolean.TRUE.equals(exchange.getAttribute(ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE))) {
+            headers.remove(HttpHeaders.HOST);
+        }
+
+        long start = System.nanoTime();
+        Duration delay = hedgeDelay(hedging, config);
+        PrimaryExchange primaryExchange = new PrimaryExchange(exchange);
+        Mono<Optional<ResponseEntity<byte[]>>> primary = chain.filter(primaryExchange)
+                .then(Mono.fromSupplier(Optional::empty));
+        Mono<Optional<ResponseEntity<byte[]>>> backup = Mono.delay(delay)
+                .then(Mono.defer(() -> {
+                    hedging.sent().increment();
+                    return send(exchange, backupUrl, headers);
+                }))
+                .map(Optional::of);
+
+        return Mono.firstWithValue(primary, backup).flatMap(winner -> {
+            hedging.latency().record(System.nanoTime() - start);
+            if (winner.isEmpty()) {
+                primaryExchange.adopt();
+                return Mono.empty();
+            }
+            hedging.won().increment();
+            primaryExchange.discard();
+
+            ResponseEntity<byte[]> response = winner.get();
+            ServerHttpResponse downstream = exchange.getResponse();
+            downstream.setStatusCode(response.getStatusCode());
+            downstream.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(List::of),
+                    response.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE));
+
+            // Already answered here, so the Netty routing filter must not send the request again
+            ServerWebExchangeUtils.setAlreadyRouted(exchange);
+            byte[] body = response.getBody();
+            return body == null || body.length == 0
+                    ? downstream.setComplete()
+                    : downstream.writeWith(Mono.just(downstream.bufferFactory().wrap(body)));
+        });
+    }
+
+    private Mono<ResponseEntity<byte[]>> send(ServerWebExchange exchange, URI url, HttpHeaders headers) {
+        return webClient.method(exchange.getRequest().getMethod())
+                .uri(url)
+                .headers(h -> h.addAll(headers))
+                .exchangeToMono(response -> response.toEntity(byte[].class));
+    }
+
+    /**
+     * Picks another instance than the one the load balancer chose, or completes empty if there is none.
+     */
+    private Mono<URI> backupUrl(String serviceId, URI primaryUrl) {
+        ServiceInstanceListSupplier supplier = loadBalancerClientFactory.getInstance(serviceId, ServiceInstanceListSupplier.class);
+        if (supplier == null) {
+            return Mono.empty();
+        }
+        return supplier.get().next().flatMap(instances -> {
+            List<ServiceInstance> others = instances.stream()
+                    .filter(instance -> !(instance.getHost().equals(primaryUrl.getHost()) && instance.getPort() == primaryUrl.getPort()))
+                    .toList();
+            if (others.isEmpty()) {
+                return Mono.empty();
+            }
+            ServiceInstance backup = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+            return Mono.just(UriComponentsBuilder.fromUri(primaryUrl)
+                    .host(backup.getHost())
+                    .port(backup.getPort())
+                    .build(true)
+                    .toUri());
+        });
+    }
+
+    private Duration hedgeDelay(RouteHedging hedging, Config config) {
+        long percentileNanos = hedging.latency().valueNanos();
+        if (percentileNanos < 0) {
+            return config.getInitialDelay();
+        }
+        return Duration.ofNanos(Math.max(config.getMinDelay().toNanos(), percentileNanos));
+    }
+
+    private RouteHedging register(String routeId, Config config) {
+        Counter sent = Counter.builder("gateway.hedge.sent")
+                .description("Backup requests sent because the first instance was slower than the route's percentile")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Counter won = Counter.builder("gateway.hedge.won")
+                .description("Backup requests that answered before the first instance")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteHedging(new LatencyPercentile(config.getPercentile(), 1024), sent, won);
+    }
+
+    private record RouteHedging(LatencyPercentile latency, Counter sent, Counter won) {
+    }
+
+    /**
+     * Keeps the attributes, status and headers the routing filter sets for the primary request apart
+     * until the primary has won the race.
+     */
+    private static final class PrimaryExchange extends ServerWebExchangeDecorator {
+
+        private final Map<String, Object> attributes;
+        private final PrimaryResponse response;
+
+        private PrimaryExchange(ServerWebExchange delegate) {
+            super(delegate);
+            this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+            this.response = new PrimaryResponse(delegate.getResponse());
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        private void adopt() {
+            ServerHttpResponse target = getDelegate().getResponse();
+            if (response.status != null) {
+                target.setStatusCode(response.status);
+            }
+            target.getHeaders().putAll(response.headers);
+            getDelegate().getAttributes().putAll(attributes);
+        }
+
+        // The backup answered first; a primary that already has its response headers still holds a connection
+        private void discard() {
+            Connection connection = (Connection) attributes.get(ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR);
+            if (connection != null) {
+                connection.dispose();
+            }
+        }
+    }
+
+    private static final class PrimaryResponse extends ServerHttpResponseDecorator {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private volatile HttpStatusCode status;
+
+        private PrimaryResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            this.status = status;
+            return true;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    public static class Config {
+
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration initialDelay = Duration.ofMillis(200);
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+    }
+}
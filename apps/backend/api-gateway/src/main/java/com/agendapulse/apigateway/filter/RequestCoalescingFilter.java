@@ -0,0 +1,139 @@
+package com.agendapulse.apigateway.filter;
+
+import com.agendapulse.common.jwt.JwtVerifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges identical in-flight GET requests of the same user into one downstream call
+ * and replays the captured response to every caller that joined while it was running.
+ * <p>
+ * The filter runs after {@link AuthenticationFilter}, {@link RateLimitFilter} and {@link ResponseCacheFilter},
+ * so every caller is authenticated and counted, and before {@link NettyWriteResponseFilter} to see the response body.
+ * The user is taken from the shared {@link JwtVerifier} rather than the {@code X-User-Id} header,
+ * so a route without authentication cannot be made to share responses between users.
+ */
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    static final int ORDER = ResponseCacheFilter.ORDER + 1;
+
+    private final JwtVerifier jwtVerifier;
+    private final Counter coalescedRequests;
+    private final Map<String, Sinks.One<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(JwtVerifier jwtVerifier, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.jwtVerifier = jwtVerifier;
+        this.coalescedRequests = Counter.builder("gateway.coalesced.requests")
+                .description("GET requests answered from another caller's in-flight downstream call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET || BulkTransfers.isBulkTransfer(request)) {
+                return chain.filter(exchange);
+            }
+
+            String userId = BearerTokens.userIdOrNull(jwtVerifier, request);
+            if (userId == null) {
+                return chain.filter(exchange);
+            }
+
+            String query = request.getURI().getRawQuery();
+            String key = userId + ' ' + request.getURI().getRawPath() + (query != null ? '?' + query : "");
+            Sinks.One<CapturedResponse> sink = Sinks.one();
+            Sinks.One<CapturedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+            if (leader != null) {
+                return follow(exchange, chain, leader);
+            }
+            return lead(exchange, chain, key, sink);
+        }, ORDER);
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain,
+                            String key, Sinks.One<CapturedResponse> sink) {
+        ServerHttpResponse capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.addAll(getHeaders());
+                    inFlight.remove(key, sink);
+                    sink.tryEmitValue(new CapturedResponse(getStatusCode(), headers, bytes));
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain,
+                              Sinks.One<CapturedResponse> leader) {
+        return leader.asMono()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorReturn(Optional.empty())
+                .flatMap(captured -> {
+                    if (captured.isEmpty()) {
+                        // The leader produced no body to share, so make the call ourselves
+                        return chain.filter(exchange);
+                    }
+                    coalescedRequests.increment();
+                    return replay(exchange.getResponse(), captured.get());
+                });
+    }
+
+    private Mono<Void> replay(ServerHttpResponse response, CapturedResponse captured) {
+        response.setStatusCode(captured.status());
+        captured.headers().forEach((name, values) -> {
+            if (!response.getHeaders().containsKey(name) && !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(captured.body())));
+    }
+
+    private record CapturedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    public static class Config {
+
+    }
+}
@@ -0,0 +1,163 @@
+package com.agendapulse.apigateway.filter;
+
+import com.agendapulse.apigateway.cache.ResponseCache;
+import com.agendapulse.apigateway.cache.ResponseCache.CachedResponse;
+import com.agendapulse.common.jwt.JwtVerifier;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Opt-in per-route cache of GET responses with strong ETags.
+ * Fresh entries are answered without forwarding, as 304 when the client already holds the
+ * same ETag. Any other method on the route drops the user's entries for that route.
+ * Runs after {@link RateLimitFilter}, so cache hits are authenticated and counted like any other request.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    static final int ORDER = RateLimitFilter.ORDER + 1;
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ResponseCache responseCache;
+    private final JwtVerifier jwtVerifier;
+
+    public ResponseCacheFilter(ResponseCache responseCache, JwtVerifier jwtVerifier) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.jwtVerifier = jwtVerifier;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String userId = BearerTokens.userIdOrNull(jwtVerifier, request);
+            if (userId == null) {
+                return chain.filter(exchange);
+            }
+
+            String routeId = routeId(exchange);
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).doFinally(signal -> responseCache.invalidate(userId, routeId));
+            }
+            if (BulkTransfers.isBulkTransfer(request)) {
+                return chain.filter(exchange);
+            }
+
+            String query = request.getURI().getRawQuery();
+            String pathAndQuery = request.getURI().getRawPath() + (query != null ? '?' + query : "");
+            CachedResponse cached = responseCache.get(userId, routeId, pathAndQuery, config.getTtl());
+            if (cached != null) {
+                return respondFromCache(exchange, cached);
+            }
+            return forwardAndStore(exchange, chain, userId, routeId, pathAndQuery);
+        }, ORDER);
+    }
+
+    private Mono<Void> respondFromCache(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.etag());
+        response.getHeaders().setCacheControl(CACHE_CONTROL);
+
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        cached.headers().forEach((name, values) -> {
+            if (!response.getHeaders().containsKey(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private Mono<Void> forwardAndStore(ServerWebExchange exchange, GatewayFilterChain chain,
+                                       String userId, String routeId, String pathAndQuery) {
+        long startedAt = System.nanoTime();
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+
+        ServerHttpResponse storing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                String cacheControl = getHeaders().getCacheControl();
+                if (getStatusCode() != HttpStatus.OK || (cacheControl != null && cacheControl.contains("no-store"))) {
+                    return super.writeWith(body);
+                }
+
+                return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+
+                    String etag = ResponseCache.etag(bytes);
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.addAll(getHeaders());
+                    headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                    responseCache.put(userId, routeId, pathAndQuery, new CachedResponse(etag, headers, bytes, startedAt));
+
+                    getHeaders().setETag(etag);
+                    getHeaders().setCacheControl(CACHE_CONTROL);
+                    if (matches(ifNoneMatch, etag)) {
+                        setStatusCode(HttpStatus.NOT_MODIFIED);
+                        getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                        return setComplete();
+                    }
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(storing).build());
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            // If-None-Match uses weak comparison, so a W/ prefix does not matter
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    public static class Config {
+
+        private Duration ttl = Duration.ofMinutes(1);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
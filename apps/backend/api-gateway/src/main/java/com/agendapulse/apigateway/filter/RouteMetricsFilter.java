@@ -0,0 +1,115 @@
+package com.agendapulse.apigateway.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latency percentiles and request/response sizes per route and status class, including requests
+ * the gateway answers itself.
+ * Meters are built once per route so the request path only does a map lookup and an array index.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private static final String[] STATUS_CLASSES = {"UNKNOWN", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        RouteMeters routeMeters = meters.computeIfAbsent(route.getId(), this::register);
+        long requestBytes = exchange.getRequest().getHeaders().getContentLength();
+        long[] responseBytes = new long[1];
+        long start = System.nanoTime();
+
+        ServerHttpResponseDecorator counting = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> responseBytes[0] += buffer.readableByteCount()));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(counting).build())
+                .doFinally(signal -> {
+                    int statusClass = statusClass(exchange.getResponse().getStatusCode());
+                    routeMeters.latency()[statusClass].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    routeMeters.responseBytes()[statusClass].record(responseBytes[0]);
+                    if (requestBytes > 0) {
+                        routeMeters.requestBytes()[statusClass].record(requestBytes);
+                    }
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // Ahead of every filter that may answer on its own (401, 429, 503, cache hits, coalesced replays),
+        // and so also before NettyWriteResponseFilter writes the downstream body into the wrapped response
+        return AuthenticationFilter.ORDER - 1;
+    }
+
+    private static int statusClass(HttpStatusCode status) {
+        if (status == null) {
+            return 0;
+        }
+        int statusClass = status.value() / 100;
+        return statusClass >= 1 && statusClass <= 5 ? statusClass : 0;
+    }
+
+    private RouteMeters register(String routeId) {
+        Timer[] latency = new Timer[STATUS_CLASSES.length];
+        DistributionSummary[] requestBytes = new DistributionSummary[STATUS_CLASSES.length];
+        DistributionSummary[] responseBytes = new DistributionSummary[STATUS_CLASSES.length];
+
+        for (int i = 0; i < STATUS_CLASSES.length; i++) {
+            latency[i] = Timer.builder("gateway.route.latency")
+                    .description("Time from routing a request until its response completed")
+                    .tag("route", routeId)
+                    .tag("status", STATUS_CLASSES[i])
+                    .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            requestBytes[i] = DistributionSummary.builder("gateway.route.request.size")
+                    .baseUnit("bytes")
+                    .tag("route", routeId)
+                    .tag("status", STATUS_CLASSES[i])
+                    .register(meterRegistry);
+            responseBytes[i] = DistributionSummary.builder("gateway.route.response.size")
+                    .baseUnit("bytes")
+                    .tag("route", routeId)
+                    .tag("status", STATUS_CLASSES[i])
+                    .register(meterRegistry);
+        }
+        return new RouteMeters(latency, requestBytes, responseBytes);
+    }
+
+    private record RouteMeters(Timer[] latency, DistributionSummary[] requestBytes, DistributionSummary[] responseBytes) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.agendapulse.apigateway.kafka;
+
+import com.agendapulse.apigateway.cache.ResponseCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached GET responses when task or calendar data changes, including writes that
+ * went through another gateway instance. Every instance consumes with its own group id.
+ */
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final ResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+
+    public CacheInvalidationListener(ResponseCache responseCache, ObjectMapper objectMapper) {
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = {"task.created", "task.updated", "task.completed", "task.deleted", "task.imported"},
+            groupId = "api-gateway-${random.uuid}")
+    public void handleTaskEvent(ConsumerRecord<String, String> record) {
+        invalidate(record, "task-service");
+    }
+
+    @KafkaListener(topics = {"calendar.event.created", "calendar.event.update", "calendar.event.completed", "calendar.event.deleted",
+            "calendar.event.imported"},
+            groupId = "api-gateway-${random.uuid}")
+    public void handleCalendarEvent(ConsumerRecord<String, String> record) {
+        invalidate(record, "calendar-service");
+    }
+
+    private void invalidate(ConsumerRecord<String, String> record, String routeId) {
+        try {
+            JsonNode userId = objectMapper.readTree(record.value()).get("userId");
+            if (userId != null && !userId.isNull()) {
+                responseCache.invalidate(userId.asText(), routeId);
+            }
+        } catch (Exception e) {
+            log.warn("Could not read user id from {} event: {}", record.topic(), e.getMessage());
+        }
+    }
+}
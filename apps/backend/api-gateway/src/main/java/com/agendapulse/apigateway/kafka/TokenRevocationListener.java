@@ -0,0 +1,44 @@
+package com.agendapulse.apigateway.kafka;
+
+import com.agendapulse.common.jwt.RevocationList;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Keeps this instance's {@link RevocationList} in step with tokens revoked by auth-service.
+ * Every instance reads the whole topic with its own group id; retention covers one token
+ * lifetime, so a freshly started gateway rejects every revoked token that has not expired.
+ */
+@Component
+public class TokenRevocationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+    private final RevocationList revocations;
+    private final ObjectMapper objectMapper;
+
+    public TokenRevocationListener(RevocationList revocations, ObjectMapper objectMapper) {
+        this.revocations = revocations;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "auth.token.revoked",
+            groupId = "api-gateway-${random.uuid}",
+            properties = "auto.offset.reset=earliest")
+    public void handleTokenRevoked(ConsumerRecord<String, String> record) {
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            revocations.revoke(event.path("tokenId").asText(null),
+                    objectMapper.treeToValue(event.get("expiresAt"), Instant.class));
+        } catch (Exception e) {
+            log.warn("Could not read revoked token from {}: {}", record.topic(), e.getMessage());
+        }
+    }
+}
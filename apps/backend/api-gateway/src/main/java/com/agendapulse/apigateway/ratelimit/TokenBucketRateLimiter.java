@@ -0,0 +1,104 @@
+package com.agendapulse.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory token buckets keyed by route and client.
+ * Bucket state is guarded by a fixed set of striped locks instead of one lock per bucket,
+ * and buckets idle long enough to be full again are simply dropped.
+ * The share of its capacity each request leaves used up in its bucket is recorded per route,
+ * so the upper percentiles show how close clients run to their limit.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private final Object[] stripes;
+    private final Cache<BucketKey, Bucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> occupancy = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(@Value("${gateway.rate-limit.stripes:64}") int stripeCount,
+                                  @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+                                  @Value("${gateway.rate-limit.idle-expiry:10m}") Duration idleExpiry,
+                                  MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Object[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Object();
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Takes one token from the bucket of the given client on the given route.
+     * @param routeId The gateway route id.
+     * @param clientKey The user id, or the remote address for anonymous callers.
+     * @param capacity The maximum number of tokens the bucket holds.
+     * @param refillPerSecond How many tokens are added back per second.
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available.
+     */
+    public long tryAcquire(String routeId, String clientKey, int capacity, double refillPerSecond) {
+        BucketKey key = new BucketKey(routeId, clientKey);
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, System.nanoTime()));
+
+        long waitNanos;
+        double used;
+        synchronized (stripes[spread(key.hashCode()) & (stripes.length - 1)]) {
+            waitNanos = bucket.tryConsume(capacity, refillPerSecond, System.nanoTime());
+            used = 1d - bucket.tokens / capacity;
+        }
+        occupancy.computeIfAbsent(routeId, this::registerOccupancy).record(used);
+        return waitNanos;
+    }
+
+    private DistributionSummary registerOccupancy(String routeId) {
+        return DistributionSummary.builder("gateway.ratelimit.bucket.occupancy")
+                .description("Share of the bucket capacity used up after each request, 1 means empty")
+                .tag("route", routeId)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private record BucketKey(String routeId, String clientKey) {
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        private long tryConsume(int capacity, double refillPerSecond, long now) {
+            double refill = (now - lastRefillNanos) * refillPerSecond / 1_000_000_000d;
+            tokens = Math.min(capacity, tokens + refill);
+            lastRefillNanos = now;
+
+            if (tokens >= 1d) {
+                tokens -= 1d;
+                return 0L;
+            }
+            return (long) Math.ceil((1d - tokens) / refillPerSecond * 1_000_000_000d);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.agendapulse.apigateway.routing;
+
+import com.agendapulse.common.routing.ConsistentHashRing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a consistent-hash ring per discovered service so requests for the same key stick
+ * to one instance. Rings are rebuilt from the discovery client in the background and only
+ * swapped when the set of instances actually changed.
+ */
+@Component
+public class DiscoveryHashRings implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DiscoveryHashRings.class);
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final MeterRegistry meterRegistry;
+    private final Duration refreshInterval;
+    private final Map<String, ServiceRing> rings = new ConcurrentHashMap<>();
+
+    public DiscoveryHashRings(ReactiveDiscoveryClient discoveryClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${gateway.hash-ring.refresh-interval:10s}") Duration refreshInterval) {
+        this.discoveryClient = discoveryClient;
+        this.meterRegistry = meterRegistry;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * @return The instance owning the key, or null until the service's first discovery lookup completed
+     * or when it has no instances.
+     */
+    public ServiceInstance instanceFor(String serviceId, String key) {
+        Snapshot snapshot = rings.computeIfAbsent(serviceId, this::watch).snapshot;
+        String nodeId = snapshot.ring().nodeFor(key);
+        return nodeId != null ? snapshot.instances().get(nodeId) : null;
+    }
+
+    /**
+     * Node id shared with the services themselves, see {@code NotificationNodeRouter} in notification-service.
+     */
+    public static String nodeId(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private ServiceRing watch(String serviceId) {
+        ServiceRing serviceRing = new ServiceRing();
+        Gauge.builder("gateway.hash-ring.nodes", serviceRing, ring -> ring.snapshot.instances().size())
+                .description("Instances currently on the consistent-hash ring")
+                .tag("service", serviceId)
+                .register(meterRegistry);
+
+        serviceRing.subscription = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> discoveryClient.getInstances(serviceId)
+                        .collectList()
+                        .onErrorResume(e -> {
+                            log.warn("Discovery lookup for {} failed, keeping the current ring: {}", serviceId, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe(instances -> update(serviceId, serviceRing, instances));
+        return serviceRing;
+    }
+
+    private void update(String serviceId, ServiceRing serviceRing, List<ServiceInstance> instances) {
+        Map<String, ServiceInstance> byNode = instances.stream()
+                .collect(Collectors.toMap(DiscoveryHashRings::nodeId, Function.identity(), (a, b) -> a));
+        Set<String> previous = serviceRing.snapshot.instances().keySet();
+        if (previous.equals(byNode.keySet())) {
+            return;
+        }
+
+        Set<String> joined = new HashSet<>(byNode.keySet());
+        joined.removeAll(previous);
+        Set<String> left = new HashSet<>(previous);
+        left.removeAll(byNode.keySet());
+        log.info("Hash ring for {} changed, joined: {}, left: {}", serviceId, joined, left);
+
+        serviceRing.snapshot = new Snapshot(ConsistentHashRing.of(byNode.keySet()), Map.copyOf(byNode));
+    }
+
+    @Override
+    public void destroy() {
+        rings.values().forEach(ring -> {
+            if (ring.subscription != null) {
+                ring.subscription.dispose();
+            }
+        });
+    }
+
+    private static final class ServiceRing {
+
+        private volatile Snapshot snapshot = new Snapshot(ConsistentHashRing.of(List.of()), Map.of());
+        private volatile Disposable subscription;
+    }
+
+    private record Snapshot(ConsistentHashRing ring, Map<String, ServiceInstance> instances) {
+    }
+}
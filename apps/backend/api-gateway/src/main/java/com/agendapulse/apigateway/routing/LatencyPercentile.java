@@ -0,0 +1,48 @@
+package com.agendapulse.apigateway.routing;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Percentile over the most recent latency samples of one route.
+ * Recorded into a fixed ring buffer and only re-sorted every few samples, so reading
+ * the value on the request path is a volatile read.
+ */
+public class LatencyPercentile {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final double percentile;
+    private final long[] samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long valueNanos = -1;
+
+    public LatencyPercentile(double percentile, int window) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        this.percentile = percentile;
+        this.samples = new long[window];
+    }
+
+    public void record(long latencyNanos) {
+        long n = recorded.getAndIncrement();
+        samples[(int) (n % samples.length)] = latencyNanos;
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            recompute(Math.min(n + 1, samples.length));
+        }
+    }
+
+    /**
+     * @return The percentile in nanoseconds, or -1 until the first {@value #RECOMPUTE_EVERY} samples were recorded.
+     */
+    public long valueNanos() {
+        return valueNanos;
+    }
+
+    private void recompute(long filled) {
+        long[] sorted = Arrays.copyOf(samples, (int) filled);
+        Arrays.sort(sorted);
+        valueNanos = sorted[(int) Math.min(filled - 1, (long) Math.ceil(percentile * filled) - 1)];
+    }
+}
@@ -0,0 +1,105 @@
+package com.agendapulse.apigateway.service;
+
+import com.agendapulse.apigateway.config.AgendaProperties;
+import com.agendapulse.apigateway.dto.AgendaResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+@Service
+public class AgendaService {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendaService.class);
+
+    private final WebClient webClient;
+    private final AgendaProperties properties;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+    public AgendaService(WebClient.Builder webClientBuilder, ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                         AgendaProperties properties, ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory) {
+        // Resolves the host of http://{serviceId} against the same instances as the lb:// routes
+        this.webClient = webClientBuilder.clone().filter(loadBalancer).build();
+        this.properties = properties;
+        this.circuitBreakerFactory = circuitBreakerFactory;
+    }
+
+    /**
+     * Calls the three dashboard legs in parallel and merges whatever came back in time.
+     */
+    public Mono<AgendaResponse> getAgenda(String userId, LocalDateTime start, LocalDateTime end, int page, int size) {
+        Map<String, String> errors = new ConcurrentHashMap<>();
+
+        Mono<Optional<JsonNode>> tasks = leg("tasks", properties.tasks(), userId, errors, uri -> uri
+                .path("/api/tasks")
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .build());
+
+        Mono<Optional<JsonNode>> events = leg("events", properties.calendar(), userId, errors, uri -> uri
+                .path("/api/calendar/events/range")
+                .queryParam("start", start)
+                .queryParam("end", end)
+                .build());
+
+        Mono<Optional<JsonNode>> unread = leg("unreadCount", properties.notifications(), userId, errors, uri -> uri
+                .path("/api/v1/notifications/user/{userId}/unread-count")
+                .build(userId));
+
+        return Mono.zip(tasks, events, unread)
+                .map(legs -> new AgendaResponse(
+                        legs.getT1().orElse(null),
+                        legs.getT2().orElse(null),
+                        legs.getT3().map(node -> node.path("count").asLong()).orElse(null),
+                        Map.copyOf(errors)));
+    }
+
+    /**
+     * The circuit breaker is shared with the service's gateway route, so an open breaker fails the leg fast.
+     * Only a generic reason reaches the client; the exception itself is logged.
+     */
+    private Mono<Optional<JsonNode>> leg(String name, AgendaProperties.Leg leg, String userId,
+                                         Map<String, String> errors, Function<UriBuilder, URI> uri) {
+        return webClient.get()
+                .uri("http://" + leg.serviceId(), uri)
+                .header("X-User-Id", userId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(leg.timeout())
+                .transform(call -> circuitBreakerFactory.create(leg.serviceId()).run(call))
+                .map(Optional::of)
+                .onErrorResume(e -> {
+                    log.warn("Agenda leg {} failed for user {}: {}", name, userId, e.toString());
+                    errors.put(name, reason(e));
+                    return Mono.just(Optional.empty());
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private static String reason(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof CallNotPermittedException
+                || (e instanceof WebClientResponseException response && response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE)) {
+            return "unavailable";
+        }
+        return "failed";
+    }
+}
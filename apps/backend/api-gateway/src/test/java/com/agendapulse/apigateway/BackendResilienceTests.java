@@ -0,0 +1,193 @@
+package com.agendapulse.apigateway;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes through the real gateway filter chain to stub backends on local ports.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BackendResilienceTests {
+
+    private static final AtomicBoolean flakyFailing = new AtomicBoolean(true);
+    private static final AtomicInteger flakyHits = new AtomicInteger();
+
+    private static final HttpServer flaky = stub(() -> {
+        flakyHits.incrementAndGet();
+        return flakyFailing.get() ? 500 : 200;
+    }, Duration.ZERO, "flaky");
+    private static final Duration SLOW_DELAY = Duration.ofSeconds(2);
+
+    private static final HttpServer slow = stub(() -> 200, SLOW_DELAY, "slow");
+    private static final HttpServer fast = stub(() -> 200, Duration.ZERO, "fast");
+
+    // Over the 16 MB the backup request may buffer
+    private static final byte[] LARGE_BODY = new byte[20 * 1024 * 1024];
+    private static final HttpServer large = stub(() -> 200, Duration.ZERO, LARGE_BODY);
+    private static final HttpServer largeToo = stub(() -> 200, Duration.ZERO, LARGE_BODY);
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("jwt.secret", () -> "test-secret-that-is-long-enough-for-hmac-sha-256-signing");
+        registry.add("spring.kafka.listener.auto-startup", () -> "false");
+        registry.add("management.endpoints.web.exposure.include", () -> "health,circuitbreakers");
+
+        registry.add("spring.cloud.discovery.client.simple.instances.flaky-service[0].uri", () -> uri(flaky));
+        registry.add("spring.cloud.discovery.client.simple.instances.hedged-service[0].uri", () -> uri(slow));
+        registry.add("spring.cloud.discovery.client.simple.instances.hedged-service[1].uri", () -> uri(fast));
+        registry.add("spring.cloud.discovery.client.simple.instances.large-service[0].uri", () -> uri(large));
+        registry.add("spring.cloud.discovery.client.simple.instances.large-service[1].uri", () -> uri(largeToo));
+
+        String routes = "spring.cloud.gateway.server.webflux.routes";
+        registry.add(routes + "[0].id", () -> "flaky");
+        registry.add(routes + "[0].uri", () -> "lb://flaky-service");
+        registry.add(routes + "[0].predicates[0]", () -> "Path=/flaky/**");
+        registry.add(routes + "[0].filters[0].name", () -> "CircuitBreaker");
+        registry.add(routes + "[0].filters[0].args.name", () -> "flaky-service");
+        registry.add(routes + "[0].filters[0].args.status-codes", () -> "500");
+        registry.add(routes + "[1].id", () -> "hedged");
+        registry.add(routes + "[1].uri", () -> "lb://hedged-service");
+        registry.add(routes + "[1].predicates[0]", () -> "Path=/hedged/**");
+        registry.add(routes + "[1].filters[0].name", () -> "HedgedRequestFilter");
+        registry.add(routes + "[1].filters[0].args.initial-delay", () -> "100ms");
+        registry.add(routes + "[2].id", () -> "large");
+        registry.add(routes + "[2].uri", () -> "lb://large-service");
+        registry.add(routes + "[2].predicates[0]", () -> "Path=/large/**");
+        registry.add(routes + "[2].filters[0].name", () -> "HedgedRequestFilter");
+
+        String breaker = "resilience4j.circuitbreaker.instances.flaky-service.";
+        registry.add(breaker + "sliding-window-size", () -> "4");
+        registry.add(breaker + "minimum-number-of-calls", () -> "4");
+        registry.add(breaker + "failure-rate-threshold", () -> "50");
+        registry.add(breaker + "wait-duration-in-open-state", () -> "500ms");
+        registry.add(breaker + "permitted-number-of-calls-in-half-open-state", () -> "2");
+        registry.add(breaker + "automatic-transition-from-open-to-half-open-enabled", () -> "true");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        flaky.stop(0);
+        slow.stop(0);
+        fast.stop(0);
+        large.stop(0);
+        largeToo.stop(0);
+    }
+
+    @Test
+    void circuitBreakerTripsOnFailuresAndRecoversThroughHalfOpen() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            webTestClient.get().uri("/flaky/items").exchange().expectStatus().isEqualTo(500);
+        }
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("flaky-service");
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Open: rejected at the gateway without reaching the backend
+        int hitsWhenOpened = flakyHits.get();
+        webTestClient.get().uri("/flaky/items").exchange().expectStatus().isEqualTo(503);
+        assertThat(flakyHits.get()).isEqualTo(hitsWhenOpened);
+
+        webTestClient.get().uri("/actuator/circuitbreakers").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.circuitBreakers.flaky-service.state").isEqualTo("OPEN");
+
+        flakyFailing.set(false);
+        Thread.sleep(700);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get().uri("/flaky/items").exchange().expectStatus().isOk();
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void slowInstanceIsHedgedToTheOtherOne() {
+        // Creates the load balancer for the service, which would skew the first measurement
+        webTestClient.get().uri("/hedged/items").exchange().expectStatus().isOk();
+
+        // Round robin puts the slow stub first for half of these
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            webTestClient.get().uri("/hedged/items").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("fast");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(SLOW_DELAY.dividedBy(2));
+        }
+        assertThat(meterRegistry.counter("gateway.hedge.won", "route", "hedged").count()).isGreaterThan(0);
+    }
+
+    @Test
+    void responseLargerThanTheBackupBufferIsStreamed() {
+        for (int i = 0; i < 2; i++) {
+            byte[] body = webTestClient.mutate()
+                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(2 * LARGE_BODY.length))
+                    .build()
+                    .get().uri("/large/items").exchange()
+                    .expectStatus().isOk()
+                    .expectBody(byte[].class).returnResult().getResponseBody();
+            assertThat(body).hasSize(LARGE_BODY.length);
+        }
+    }
+
+    private static HttpServer stub(IntSupplier status, Duration delay, String body) {
+        return stub(status, delay, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HttpServer stub(IntSupplier status, Duration delay, byte[] bytes) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", exchange -> {
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(status.getAsInt(), bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                } catch (IOException e) {
+                    // Client cancelled the losing hedge
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,177 @@
+package com.agendapulse.apigateway;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests answered by the gateway itself still show up in the route metrics.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RouteMetricsTests {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-256-signing";
+
+    private static final AtomicInteger backendHits = new AtomicInteger();
+    private static final HttpServer backend = backend();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("jwt.secret", () -> SECRET);
+        registry.add("spring.kafka.listener.auto-startup", () -> "false");
+
+        String backendUri = "http://localhost:" + backend.getAddress().getPort();
+        String routes = "spring.cloud.gateway.server.webflux.routes";
+        registry.add(routes + "[0].id", () -> "limited");
+        registry.add(routes + "[0].uri", () -> backendUri);
+        registry.add(routes + "[0].predicates[0]", () -> "Path=/limited/**");
+        registry.add(routes + "[0].filters[0].name", () -> "AuthenticationFilter");
+        registry.add(routes + "[0].filters[1].name", () -> "RateLimitFilter");
+        registry.add(routes + "[0].filters[1].args.capacity", () -> "1");
+        registry.add(routes + "[0].filters[1].args.refill-per-second", () -> "0.001");
+        registry.add(routes + "[1].id", () -> "cached");
+        registry.add(routes + "[1].uri", () -> backendUri);
+        registry.add(routes + "[1].predicates[0]", () -> "Path=/cached/**");
+        registry.add(routes + "[1].filters[0].name", () -> "AuthenticationFilter");
+        registry.add(routes + "[1].filters[1].name", () -> "ResponseCacheFilter");
+        registry.add(routes + "[1].filters[1].args.ttl", () -> "5m");
+        registry.add(routes + "[2].id", () -> "agenda");
+        registry.add(routes + "[2].uri", () -> "forward:/internal/agenda");
+        registry.add(routes + "[2].predicates[0]", () -> "Path=/api/agenda");
+        registry.add(routes + "[2].filters[0].name", () -> "AuthenticationFilter");
+        registry.add(routes + "[2].filters[1].name", () -> "RateLimitFilter");
+        registry.add(routes + "[2].filters[1].args.capacity", () -> "1");
+        registry.add(routes + "[2].filters[1].args.refill-per-second", () -> "0.001");
+        // No instances are registered, so every leg fails fast and the agenda comes back with errors only
+        registry.add("agenda.tasks.service-id", () -> "task-service");
+        registry.add("agenda.calendar.service-id", () -> "calendar-service");
+        registry.add("agenda.notifications.service-id", () -> "notification-service");
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.stop(0);
+    }
+
+    @Test
+    void rateLimitedRequestIsRecorded() throws InterruptedException {
+        String token = token();
+        webTestClient.get().uri("/limited/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange().expectStatus().isOk();
+        webTestClient.get().uri("/limited/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange().expectStatus().isEqualTo(429);
+
+        awaitCount("limited", "2xx", 1);
+        awaitCount("limited", "4xx", 1);
+    }
+
+    @Test
+    void unauthenticatedRequestIsRecorded() throws InterruptedException {
+        webTestClient.get().uri("/cached/anonymous").exchange().expectStatus().isUnauthorized();
+
+        awaitCount("cached", "4xx", 1);
+    }
+
+    @Test
+    void cacheHitIsRecorded() throws InterruptedException {
+        String token = token();
+        int hitsBefore = backendHits.get();
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get().uri("/cached/items").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .exchange().expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("items");
+        }
+
+        assertThat(backendHits.get() - hitsBefore).isEqualTo(1);
+        awaitCount("cached", "2xx", 2);
+        assertThat(meterRegistry.get("gateway.route.response.size").tags("route", "cached", "status", "2xx")
+                .summary().totalAmount()).isEqualTo(2 * "items".length());
+    }
+
+    @Test
+    void agendaGoesThroughItsRoute() throws InterruptedException {
+        String token = token();
+        String uri = "/api/agenda?start=2025-01-01T00:00:00&end=2025-01-02T00:00:00";
+        webTestClient.get().uri(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.errors.tasks").isEqualTo("failed");
+        webTestClient.get().uri(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange().expectStatus().isEqualTo(429);
+
+        awaitCount("agenda", "2xx", 1);
+        awaitCount("agenda", "4xx", 1);
+    }
+
+    @Test
+    void agendaIsNotServedOutsideItsRoute() {
+        webTestClient.get().uri("/internal/agenda?start=2025-01-01T00:00:00&end=2025-01-02T00:00:00")
+                .header("X-User-Id", UUID.randomUUID().toString())
+                .exchange().expectStatus().isNotFound();
+    }
+
+    // Meters are updated once the response completed, which may be just after the client has it
+    private void awaitCount(String route, String status, long expected) throws InterruptedException {
+        Timer timer = meterRegistry.get("gateway.route.latency").tags("route", route, "status", status).timer();
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (timer.count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(timer.count()).isEqualTo(expected);
+    }
+
+    // A distinct user per test, so rate limit buckets and cache entries are not shared between tests
+    private static String token() {
+        return Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .id(UUID.randomUUID().toString())
+                .expiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static HttpServer backend() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                backendHits.incrementAndGet();
+                byte[] bytes = "items".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.agendapulse.apigateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long SLOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 200, THRESHOLD_NANOS, 0.9);
+
+    @Test
+    void burstOfSlowResponsesBacksOffOnce() {
+        acquire(50);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(SLOW_NANOS, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(45);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void burstOfFailuresBacksOffOnce() {
+        acquire(50);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.release(SLOW_NANOS, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(45);
+    }
+
+    @Test
+    void requestStartedAfterABackOffBacksOffAgain() throws InterruptedException {
+        acquire(2);
+        limiter.release(SLOW_NANOS, false);
+        assertThat(limiter.getLimit()).isEqualTo(45);
+
+        // Took a microsecond, so it started after the first cut
+        Thread.sleep(1);
+        limiter.release(1000, true);
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void fastResponsesOfABusyRouteRaiseTheLimit() {
+        // Each full round of fast responses adds about half a slot, the first half of them arriving while it is busy
+        for (int round = 0; round < 4; round++) {
+            acquire(limiter.getLimit());
+            for (int i = limiter.getInFlight(); i > 0; i--) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(10), false);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(50);
+    }
+
+    @Test
+    void shedsOnceTheLimitIsInFlight() {
+        acquire(50);
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.releaseWithoutSample();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    private void acquire(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.agendapulse.auth;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.agendapulse.auth.jwt.JwtConfig;
+import com.agendapulse.auth.lookup.UserLookupConfig;
+import com.agendapulse.auth.security.PasswordHashingConfig;
+import com.agendapulse.auth.throttle.LoginThrottleConfig;
 
 @SpringBootApplication
-@EnableConfigurationProperties(JwtConfig.class)
+@EnableScheduling
+@EnableConfigurationProperties({JwtConfig.class, PasswordHashingConfig.class, LoginThrottleConfig.class, UserLookupConfig.class})
 public class AuthServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AuthServiceApplication.class, args);
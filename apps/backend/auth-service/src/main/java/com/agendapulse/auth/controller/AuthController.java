@@ -1,10 +1,14 @@
 package com.agendapulse.auth.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.agendapulse.auth.service.AuthService;
+import com.agendapulse.common.jwt.JwtVerifier;
 import com.agendapulse.common.model.auth.AuthResponse;
 import com.agendapulse.common.model.auth.LoginRequest;
 import com.agendapulse.common.model.auth.SignupRequest;
@@ -24,7 +28,22 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public AuthResponse login(@Valid @RequestBody LoginRequest dto) {
-        return authService.login(dto);
+    public AuthResponse login(@Valid @RequestBody LoginRequest dto, HttpServletRequest request) {
+        return authService.login(dto, clientIp(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        authService.logout(JwtVerifier.bearerToken(authorization));
+        return ResponseEntity.noContent().build();
+    }
+
+    // The gateway appends the address it saw, so the last X-Forwarded-For entry is the one we can trust
+    private static String clientIp(HttpServletRequest request) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            return forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+        }
+        return request.getRemoteAddr();
     }
 }
\ No newline at end of file
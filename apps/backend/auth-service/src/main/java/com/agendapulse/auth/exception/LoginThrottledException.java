@@ -0,0 +1,14 @@
+package com.agendapulse.auth.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many failed login attempts, try again later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
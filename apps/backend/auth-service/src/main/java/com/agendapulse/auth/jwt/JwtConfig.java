@@ -9,4 +9,5 @@ import lombok.Setter;
 public class JwtConfig {
     private String  secret;     
     private Integer expiresMin; 
+    private long    cacheMaxSize = 10_000;
 }
\ No newline at end of file
@@ -7,7 +7,14 @@ import javax.crypto.SecretKey;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.agendapulse.common.jwt.CaffeineClaimsCache;
+import com.agendapulse.common.jwt.JwtVerifier;
+import com.agendapulse.common.jwt.RevocationList;
+
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Configuration
 public class JwtKeyConfig {
@@ -17,5 +24,19 @@ public class JwtKeyConfig {
         byte[] keyBytes = cfg.getSecret().getBytes(StandardCharsets.UTF_8);
         return Keys.hmacShaKeyFor(keyBytes);
     }
+
+    @Bean
+    RevocationList revocationList(MeterRegistry meterRegistry) {
+        RevocationList revocations = new RevocationList();
+        Gauge.builder("auth.jwt.revoked-tokens", revocations, RevocationList::size).register(meterRegistry);
+        return revocations;
+    }
+
+    @Bean
+    JwtVerifier jwtVerifier(SecretKey jwtKey, JwtConfig cfg, RevocationList revocations, MeterRegistry meterRegistry) {
+        CaffeineClaimsCache claimsCache = new CaffeineClaimsCache(cfg.getCacheMaxSize());
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache.nativeCache(), "auth.jwt.verified-tokens");
+        return new JwtVerifier(jwtKey, claimsCache, revocations);
+    }
     
 }
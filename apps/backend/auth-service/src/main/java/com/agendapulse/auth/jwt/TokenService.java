@@ -3,13 +3,18 @@ package com.agendapulse.auth.jwt;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.stereotype.Component;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import com.agendapulse.auth.kafka.TokenRevocationPublisher;
+import com.agendapulse.common.event.TokenRevokedEvent;
+import com.agendapulse.common.jwt.JwtPrincipal;
+import com.agendapulse.common.jwt.JwtVerifier;
+import com.agendapulse.common.jwt.RevocationList;
+
 import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
 
@@ -18,9 +23,13 @@ import lombok.RequiredArgsConstructor;
 public class TokenService {
     private final SecretKey jwtKey;
     private final JwtConfig cfg;
+    private final JwtVerifier jwtVerifier;
+    private final RevocationList revocations;
+    private final TokenRevocationPublisher revocationPublisher;
 
     public String generateToken(String subject, Map<String, Object> claims) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .claims(claims)
                 .issuedAt(new Date())
@@ -29,23 +38,25 @@ public class TokenService {
                 .compact();
     }
 
-    public Jws<Claims> parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(jwtKey)
-                .build()
-                .parseSignedClaims(token);
+    /**
+     * Verifies the token and returns its principal with a single parse.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired.
+     */
+    public JwtPrincipal verify(String token) {
+        return jwtVerifier.verify(token);
     }
 
-    public boolean isValid(String token) {
-        try {
-            parseToken(token);
-            return true;
-        } catch (Exception ex) {
-            return false;
+    /**
+     * Revokes a valid token here right away and on every other verifier through Kafka.
+     * @throws io.jsonwebtoken.JwtException if the token is invalid, expired or already revoked.
+     */
+    public void revoke(String token) {
+        JwtPrincipal principal = jwtVerifier.verify(token);
+        if (principal.tokenId() == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be revoked.");
         }
-    }
-
-    public String getEmailFromToken(String token) {
-        return parseToken(token).getPayload().get("email", String.class);
+        revocations.revoke(principal.tokenId(), principal.expiresAt());
+        revocationPublisher.publishTokenRevoked(
+                TokenRevokedEvent.of(principal.tokenId(), principal.userId(), principal.expiresAt()));
     }
 }
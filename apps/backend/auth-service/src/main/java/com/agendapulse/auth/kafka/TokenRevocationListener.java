@@ -0,0 +1,28 @@
+package com.agendapulse.auth.kafka;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.agendapulse.common.event.TokenRevokedEvent;
+import com.agendapulse.common.jwt.RevocationList;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Feeds revocations made by any auth-service instance into this instance's {@link RevocationList}.
+ * Every instance consumes with its own group from the start of the topic, whose retention covers
+ * one token lifetime, so a fresh instance knows every revoked token that is still valid.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+
+    private final RevocationList revocations;
+
+    @KafkaListener(topics = TokenRevocationPublisher.TOPIC,
+            groupId = "auth-service-${random.uuid}",
+            properties = "auto.offset.reset=earliest")
+    public void handleTokenRevoked(TokenRevokedEvent event) {
+        revocations.revoke(event.tokenId(), event.expiresAt());
+    }
+}
@@ -0,0 +1,24 @@
+package com.agendapulse.auth.kafka;
+
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.agendapulse.common.event.TokenRevokedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationPublisher {
+
+    public static final String TOPIC = "auth.token.revoked";
+
+    private final KafkaTemplate<String, TokenRevokedEvent> kafkaTemplate;
+
+    public void publishTokenRevoked(TokenRevokedEvent event) {
+        log.info("Publishing token revoked event: {}", event);
+        kafkaTemplate.send(TOPIC, event.tokenId(), event);
+    }
+}
@@ -0,0 +1,24 @@
+package com.agendapulse.auth.kafka;
+
+import java.time.Duration;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+import com.agendapulse.auth.jwt.JwtConfig;
+
+@Configuration
+public class TokenRevocationTopicConfig {
+
+    // Verifiers replay the topic on startup, so it must keep revocations until their tokens expire
+    @Bean
+    NewTopic tokenRevokedTopic(JwtConfig cfg) {
+        Duration retention = Duration.ofMinutes(cfg.getExpiresMin() * 2L);
+        return TopicBuilder.name(TokenRevocationPublisher.TOPIC)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(retention.toMillis()))
+                .build();
+    }
+}
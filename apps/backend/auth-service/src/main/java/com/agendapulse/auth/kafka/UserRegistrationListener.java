@@ -0,0 +1,26 @@
+package com.agendapulse.auth.kafka;
+
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.agendapulse.auth.lookup.UserLookup;
+import com.agendapulse.common.event.UserRegisteredEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adds signups made on any auth-service instance to this instance's email filter right away, instead of
+ * at its next refresh, so a user who signs up on one instance can log in through another. Every instance
+ * consumes with its own group; a fresh instance builds its filter from the database instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRegistrationListener {
+
+    private final UserLookup userLookup;
+
+    @KafkaListener(topics = UserRegistrationPublisher.TOPIC, groupId = "auth-service-${random.uuid}")
+    public void handleUserRegistered(UserRegisteredEvent event) {
+        userLookup.registered(event.email());
+    }
+}
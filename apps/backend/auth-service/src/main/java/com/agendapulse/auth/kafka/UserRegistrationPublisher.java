@@ -0,0 +1,24 @@
+package com.agendapulse.auth.kafka;
+
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.agendapulse.common.event.UserRegisteredEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRegistrationPublisher {
+
+    public static final String TOPIC = "auth.user.registered";
+
+    private final KafkaTemplate<String, UserRegisteredEvent> kafkaTemplate;
+
+    public void publishUserRegistered(UserRegisteredEvent event) {
+        log.info("Publishing user registered event for user {}", event.userId());
+        kafkaTemplate.send(TOPIC, event.userId(), event);
+    }
+}
@@ -0,0 +1,93 @@
+package com.agendapulse.auth.lookup;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.agendapulse.auth.support.Hashes;
+
+/**
+ * Thread-safe Bloom filter over email addresses. A negative answer means the email was never
+ * added; a positive one may be wrong with about the configured false-positive rate.
+ */
+public class EmailBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long capacity;
+    private final AtomicLong added = new AtomicLong();
+
+    /**
+     * @param capacity Insertions the false-positive rate is sized for.
+     */
+    public EmailBloomFilter(long capacity, double falsePositiveRate) {
+        if (capacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("capacity must be positive and falsePositiveRate between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64));
+        this.bits = (long) words.length() * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / capacity * Math.log(2)));
+        this.capacity = capacity;
+    }
+
+    public void add(String email) {
+        long hash = Hashes.hash64(email);
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        // Re-adding a known email sets no new bit, so this approximates the distinct count
+        if (changed) {
+            added.incrementAndGet();
+        }
+    }
+
+    public boolean mightContain(String email) {
+        long hash = Hashes.hash64(email);
+        for (int i = 0; i < hashes; i++) {
+            long bit = index(hash, i);
+            if ((words.get((int) (bit >>> 6)) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False-positive rate expected for the number of emails added so far, (1 - e^(-kn/m))^k.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashes * added.get() / bits), hashes);
+    }
+
+    public boolean isOverCapacity() {
+        return added.get() > capacity;
+    }
+
+    /**
+     * Approximate number of distinct emails added.
+     */
+    public long added() {
+        return added.get();
+    }
+
+    public long sizeInBytes() {
+        return bits / 8;
+    }
+
+    private long index(long hash, int i) {
+        // Kirsch-Mitzenmacher double hashing, the high half (forced odd) as the step
+        return Long.remainderUnsigned(hash + i * (hash >>> 32 | 1), bits);
+    }
+}
@@ -0,0 +1,153 @@
+package com.agendapulse.auth.lookup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.agendapulse.auth.domain.User;
+import com.agendapulse.auth.repo.UserEmail;
+import com.agendapulse.auth.repo.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Front for user lookups by email on the login and signup paths.
+ * A Bloom filter of all registered emails answers "no such user" without touching the database,
+ * and a bounded cache serves repeat logins. The database and its unique constraint stay the
+ * source of truth: a filter hit always goes to the cache or the database. Signups on other instances
+ * arrive over Kafka through {@link com.agendapulse.auth.kafka.UserRegistrationListener}; the periodic
+ * refresh from the database covers any that were missed.
+ */
+@Component
+@Slf4j
+public class UserLookup {
+
+    private static final int BATCH_SIZE = 10_000;
+    // Identity values can commit out of order, so each refresh re-reads a few ids below the last one seen
+    private static final long REFRESH_OVERLAP = 1_000;
+    private static final int FALSE_POSITIVE_PROBES = 100_000;
+
+    private final UserRepository repo;
+    private final UserLookupConfig cfg;
+    private final Cache<String, User> users;
+
+    private volatile EmailBloomFilter emails;
+    private volatile long lastSeenId;
+
+    public UserLookup(UserRepository repo, UserLookupConfig cfg, MeterRegistry meterRegistry) {
+        this.repo = repo;
+        this.cfg = cfg;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cfg.getCacheMaxSize())
+                .expireAfterWrite(cfg.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "auth.users-by-email");
+        Gauge.builder("auth.email-filter.false-positive-rate", this,
+                        lookup -> lookup.emails != null ? lookup.emails.expectedFalsePositiveRate() : Double.NaN)
+                .register(meterRegistry);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        EmailBloomFilter filter = emails;
+        if (filter != null && !filter.mightContain(email)) {
+            return Optional.empty();
+        }
+        User cached = users.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> user = repo.findByEmail(email);
+        user.ifPresent(found -> users.put(email, found));
+        return user;
+    }
+
+    /**
+     * @return false only if the email is certainly not registered yet, as far as this instance knows.
+     */
+    public boolean mightExist(String email) {
+        EmailBloomFilter filter = emails;
+        return filter == null || filter.mightContain(email);
+    }
+
+    /**
+     * Adds a signup to the filter, whether it was made on this instance or announced by another one.
+     */
+    public void registered(String email) {
+        EmailBloomFilter filter = emails;
+        if (filter != null) {
+            filter.add(email);
+        }
+    }
+
+    public void passwordChanged(String email) {
+        users.invalidate(email);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long start = System.nanoTime();
+        EmailBloomFilter filter = build();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Emails with a random local part are certainly not registered, so every hit is a false positive
+        int falsePositives = 0;
+        for (int i = 0; i < FALSE_POSITIVE_PROBES; i++) {
+            if (filter.mightContain(UUID.randomUUID() + "@probe.invalid")) {
+                falsePositives++;
+            }
+        }
+        log.info("Email filter warmed up in {} ms with {} users, {} KiB, false-positive rate {} expected, {} measured",
+                elapsedMillis, filter.added(), filter.sizeInBytes() / 1024,
+                String.format("%.4f", filter.expectedFalsePositiveRate()),
+                String.format("%.4f", (double) falsePositives / FALSE_POSITIVE_PROBES));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.user-lookup.bloom-refresh-interval:30s}")
+    public void refresh() {
+        EmailBloomFilter filter = emails;
+        if (filter == null) {
+            return;
+        }
+        if (filter.isOverCapacity()) {
+            log.info("Email filter holds {} users, over its capacity, rebuilding", filter.added());
+            build();
+            return;
+        }
+        load(filter, Math.max(0, lastSeenId - REFRESH_OVERLAP));
+    }
+
+    private synchronized EmailBloomFilter build() {
+        long capacity = Math.max(cfg.getMinBloomCapacity(), repo.count() * 2);
+        EmailBloomFilter filter = new EmailBloomFilter(capacity, cfg.getBloomFalsePositiveRate());
+        load(filter, 0);
+        emails = filter;
+        // Signups made while loading only reached the old filter, or none at all during warm-up
+        load(filter, Math.max(0, lastSeenId - REFRESH_OVERLAP));
+        return filter;
+    }
+
+    private synchronized void load(EmailBloomFilter filter, long afterId) {
+        long cursor = afterId;
+        List<UserEmail> batch;
+        do {
+            batch = repo.findEmailsAfter(cursor, PageRequest.of(0, BATCH_SIZE));
+            for (UserEmail user : batch) {
+                filter.add(user.getEmail());
+                cursor = user.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        lastSeenId = Math.max(lastSeenId, cursor);
+    }
+}
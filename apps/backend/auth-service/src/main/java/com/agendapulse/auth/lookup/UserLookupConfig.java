@@ -0,0 +1,17 @@
+package com.agendapulse.auth.lookup;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "auth.user-lookup")
+public class UserLookupConfig {
+    private long minBloomCapacity = 100_000;      // filter is sized for max(this, 2 x current users)
+    private double bloomFalsePositiveRate = 0.01;
+    private Duration bloomRefreshInterval = Duration.ofSeconds(30);  // picks up signups made on other instances
+    private long cacheMaxSize = 10_000;
+    private Duration cacheTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,6 @@
+package com.agendapulse.auth.repo;
+
+public interface UserEmail {
+    Long getId();
+    String getEmail();
+}
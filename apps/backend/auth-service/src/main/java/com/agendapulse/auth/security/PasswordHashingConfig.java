@@ -0,0 +1,13 @@
+package com.agendapulse.auth.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "auth.password")
+public class PasswordHashingConfig {
+    private int strength = 10;                                          // BCrypt log2 cost
+    private int threads = Runtime.getRuntime().availableProcessors();   // hashing is pure CPU
+    private int queueCapacity = 64;                                     // beyond this, fail fast with 503
+}
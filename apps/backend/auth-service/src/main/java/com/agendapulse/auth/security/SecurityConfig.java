@@ -34,7 +34,12 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(PasswordHashingConfig cfg) {
+        return new BCryptPasswordEncoder(cfg.getStrength());
+    }
+
+    @Bean
+    PasswordHasher passwordHasher(PasswordEncoder passwordEncoder, PasswordHashingConfig cfg) {
+        return new PasswordHasher(passwordEncoder, cfg.getStrength(), cfg.getThreads(), cfg.getQueueCapacity());
     }
 }
@@ -10,9 +10,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.agendapulse.auth.jwt.TokenService;
 import com.agendapulse.auth.security.CustomPrincipal;
+import com.agendapulse.common.jwt.JwtPrincipal;
+import com.agendapulse.common.jwt.JwtVerifier;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
 import java.io.IOException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -31,16 +32,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull HttpServletRequest req, 
             @NonNull HttpServletResponse res, 
             @NonNull FilterChain chain) throws ServletException, IOException {
-        String header = req.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
+        String token = JwtVerifier.bearerToken(req.getHeader("Authorization"));
+        if (token != null) {
+            JwtPrincipal verified = verify(token);
 
-            if (tokenService.isValid(token)) {
-                Jws<Claims> jws = tokenService.parseToken(token);
-                String userId = jws.getPayload().getSubject();
-                String email = jws.getPayload().get("email", String.class);
-
-                CustomPrincipal principal = new CustomPrincipal(userId, email);
+            if (verified != null) {
+                CustomPrincipal principal = new CustomPrincipal(verified.userId(), verified.email());
 
                 UsernamePasswordAuthenticationToken auth =
                         new UsernamePasswordAuthenticationToken(
@@ -54,4 +51,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         chain.doFilter(req, res);
     }
 
+    private JwtPrincipal verify(String token) {
+        try {
+            return tokenService.verify(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
 }
@@ -1,36 +1,56 @@
 package com.agendapulse.auth.service;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import com.agendapulse.auth.domain.User;
 import com.agendapulse.auth.jwt.TokenService;
+import com.agendapulse.auth.kafka.UserRegistrationPublisher;
+import com.agendapulse.auth.lookup.UserLookup;
 import com.agendapulse.auth.repo.UserRepository;
+import com.agendapulse.auth.security.PasswordHasher;
+import com.agendapulse.auth.throttle.LoginThrottle;
+import com.agendapulse.common.event.UserRegisteredEvent;
 import com.agendapulse.common.model.auth.AuthResponse;
 import com.agendapulse.common.model.auth.LoginRequest;
 import com.agendapulse.common.model.auth.SignupRequest;
 
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository repo;
-    private final PasswordEncoder encoder;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final UserLookup userLookup;
     private final TokenService tokenService;   
+    private final UserRegistrationPublisher registrationPublisher;
 
     public AuthResponse signup(SignupRequest dto) {
 
-        if (repo.existsByEmail(dto.email()))
+        // Skip the existence query when the filter rules the email out; the unique constraint still decides
+        if (userLookup.mightExist(dto.email()) && repo.existsByEmail(dto.email()))
             throw new IllegalArgumentException("E-mail already registered.");
 
-        User user = repo.save(                     
+        User user;
+        try {
+            user = repo.save(
                         new User(null,
                                  dto.email(),
-                                 encoder.encode(dto.password())));
+                                 passwordHasher.hash(dto.password())));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("E-mail already registered.");
+        }
+        userLookup.registered(user.getEmail());
+        registrationPublisher.publishUserRegistered(UserRegisteredEvent.of(user.getId().toString(), user.getEmail()));
 
         String token = tokenService.generateToken(
                 user.getId().toString(),
@@ -39,13 +59,31 @@ public class AuthService {
         return new AuthResponse(token);
     }
 
-    public AuthResponse login(LoginRequest dto) {
+    public AuthResponse login(LoginRequest dto, String clientIp) {
+
+        loginThrottle.check(dto.email(), clientIp);
 
-        User user = repo.findByEmail(dto.email())
-                        .orElseThrow(() -> new IllegalArgumentException("User Not Found!"));
+        User user = userLookup.findByEmail(dto.email()).orElse(null);
+        if (user == null) {
+            loginThrottle.recordFailure(dto.email(), clientIp);
+            throw new IllegalArgumentException("User Not Found!");
+        }
 
-        if (!encoder.matches(dto.password(), user.getPassword()))
+        if (!passwordHasher.matches(dto.password(), user.getPassword())) {
+            loginThrottle.recordFailure(dto.email(), clientIp);
             throw new IllegalArgumentException("Password incorrect.");
+        }
+
+        // Only now is the raw password known to be right, so this is the one chance to move to the configured cost
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            try {
+                int updated = repo.updatePasswordHash(user.getId(), user.getPassword(), passwordHasher.hash(dto.password()));
+                userLookup.passwordChanged(user.getEmail());
+                log.info("Rehashed password of user {} with the configured cost: {}", user.getId(), updated == 1);
+            } catch (RejectedExecutionException e) {
+                log.debug("Hashing pool busy, rehash of user {} left for a later login", user.getId());
+            }
+        }
 
         String token = tokenService.generateToken(
                 user.getId().toString(),
@@ -53,4 +91,12 @@ public class AuthService {
 
         return new AuthResponse(token);
     }
+
+    public void logout(String token) {
+        try {
+            tokenService.revoke(token);
+        } catch (JwtException e) {
+            throw new IllegalArgumentException("Invalid or expired token.");
+        }
+    }
 }
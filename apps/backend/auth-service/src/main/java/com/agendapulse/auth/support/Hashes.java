@@ -0,0 +1,27 @@
+package com.agendapulse.auth.support;
+
+import java.nio.charset.StandardCharsets;
+
+public final class Hashes {
+
+    private Hashes() {
+    }
+
+    /**
+     * 64-bit FNV-1a with a murmur3 finalizer. Well spread for short, similar keys such as emails
+     * and IPs, and cheap enough to run several times per login.
+     */
+    public static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,85 @@
+package com.agendapulse.auth.throttle;
+
+import java.time.Clock;
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
+
+import com.agendapulse.auth.exception.LoginThrottledException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts failed logins per email and per client IP and refuses further attempts once either
+ * is over its limit for the sliding window. Checked before the user lookup and the password
+ * check, so a credential-stuffing run costs a few hash lookups instead of a BCrypt each.
+ */
+@Component
+public class LoginThrottle {
+
+    private final LoginThrottleConfig cfg;
+    private final Clock clock = Clock.systemUTC();
+    private final SlidingWindowSketch emailFailures;
+    private final SlidingWindowSketch ipFailures;
+
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByIp;
+    private final Counter failures;
+
+    public LoginThrottle(LoginThrottleConfig cfg, MeterRegistry meterRegistry) {
+        this.cfg = cfg;
+        long windowMillis = cfg.getWindow().toMillis();
+        long now = clock.millis();
+        this.emailFailures = new SlidingWindowSketch(windowMillis, cfg.getSketchDepth(), cfg.getSketchWidth(), now);
+        this.ipFailures = new SlidingWindowSketch(windowMillis, cfg.getSketchDepth(), cfg.getSketchWidth(), now);
+
+        this.rejectedByEmail = Counter.builder("auth.login.throttled")
+                .description("Login attempts refused before the password check")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.rejectedByIp = Counter.builder("auth.login.throttled")
+                .description("Login attempts refused before the password check")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.failures = Counter.builder("auth.login.failures")
+                .description("Logins rejected for an unknown email or a wrong password")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.memory", this, throttle -> throttle.emailFailures.sizeInBytes() + throttle.ipFailures.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws LoginThrottledException If the email or the IP already failed too often in the window.
+     */
+    public void check(String email, String clientIp) {
+        long now = clock.millis();
+        if (emailFailures.estimate(emailKey(email), now) >= cfg.getMaxFailuresPerEmail()) {
+            rejectedByEmail.increment();
+            throw new LoginThrottledException(retryAfterSeconds(emailFailures, now));
+        }
+        if (clientIp != null && ipFailures.estimate(clientIp, now) >= cfg.getMaxFailuresPerIp()) {
+            rejectedByIp.increment();
+            throw new LoginThrottledException(retryAfterSeconds(ipFailures, now));
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = clock.millis();
+        failures.increment();
+        emailFailures.increment(emailKey(email), now);
+        if (clientIp != null) {
+            ipFailures.increment(clientIp, now);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long retryAfterSeconds(SlidingWindowSketch sketch, long now) {
+        return Math.max(1, sketch.millisUntilWindowEnds(now) / 1000);
+    }
+}
@@ -0,0 +1,17 @@
+package com.agendapulse.auth.throttle;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "auth.login-throttle")
+public class LoginThrottleConfig {
+    private Duration window = Duration.ofMinutes(15);
+    private int maxFailuresPerEmail = 10;
+    private int maxFailuresPerIp = 100;
+    private int sketchDepth = 4;
+    private int sketchWidth = 1 << 18;      // 8 MiB per key type however many keys; ~1 false count per million failures
+}
@@ -0,0 +1,137 @@
+package com.agendapulse.auth.throttle;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.agendapulse.auth.support.Hashes;
+
+/**
+ * Approximate per-key event counts over a sliding window with fixed memory.
+ * Each window is a count-min sketch; the estimate blends the previous window in proportion
+ * to how much of it still overlaps the sliding window. Counts can only be overestimated,
+ * by roughly {@code e / width} of all events in the window, never underestimated.
+ */
+public class SlidingWindowSketch {
+
+    private final long windowMillis;
+    private final int depth;
+    private final int mask;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    /**
+     * @param width Counters per row, rounded up to a power of two.
+     */
+    public SlidingWindowSketch(long windowMillis, int depth, int width, long nowMillis) {
+        if (windowMillis <= 0 || depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("window, depth and width must be positive");
+        }
+        this.windowMillis = windowMillis;
+        this.depth = depth;
+        int size = Integer.highestOneBit(width);
+        this.mask = (size < width ? size << 1 : size) - 1;
+        long index = nowMillis / windowMillis;
+        this.current = new Window(index, depth, mask + 1);
+        this.previous = new Window(index - 1, depth, mask + 1);
+    }
+
+    /**
+     * Counts one event for the key and returns the new estimate.
+     */
+    public double increment(String key, long nowMillis) {
+        Window window = rotate(nowMillis);
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        // Conservative update: only raise the rows that hold the minimum, which keeps
+        // the overestimate much lower than bumping every row
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, window.counts.get(slot(row, h1, h2)));
+        }
+        for (int row = 0; row < depth; row++) {
+            int slot = slot(row, h1, h2);
+            int value = window.counts.get(slot);
+            while (value <= min && !window.counts.compareAndSet(slot, value, value + 1)) {
+                value = window.counts.get(slot);
+            }
+        }
+        return blend(window, min + 1, h1, h2, nowMillis);
+    }
+
+    public double estimate(String key, long nowMillis) {
+        Window window = rotate(nowMillis);
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        return blend(window, window.min(this, h1, h2), h1, h2, nowMillis);
+    }
+
+    /**
+     * Milliseconds until the current window ends, a safe Retry-After for a rejected key.
+     */
+    public long millisUntilWindowEnds(long nowMillis) {
+        return windowMillis - nowMillis % windowMillis;
+    }
+
+    /**
+     * Memory taken by the counters, independent of how many keys were seen.
+     */
+    public long sizeInBytes() {
+        return 2L * depth * (mask + 1) * Integer.BYTES;
+    }
+
+    private double blend(Window window, int currentCount, int h1, int h2, long nowMillis) {
+        Window before = previous;
+        double overlap = 1d - (double) (nowMillis % windowMillis) / windowMillis;
+        int previousCount = before.index == window.index - 1 ? before.min(this, h1, h2) : 0;
+        return currentCount + previousCount * overlap;
+    }
+
+    private Window rotate(long nowMillis) {
+        long index = nowMillis / windowMillis;
+        Window window = current;
+        if (window.index == index) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (window.index != index) {
+                previous = window.index == index - 1 ? window : new Window(index - 1, depth, mask + 1);
+                window = new Window(index, depth, mask + 1);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private int slot(int row, int h1, int h2) {
+        // Kirsch-Mitzenmacher: row hashes derived from two base hashes
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private static long hash(String key) {
+        // h2 odd, so with a power-of-two width every row picks a different column
+        return Hashes.hash64(key) | 1L << 32;
+    }
+
+    private static final class Window {
+
+        private final long index;
+        private final AtomicIntegerArray counts;
+
+        private Window(long index, int depth, int width) {
+            this.index = index;
+            this.counts = new AtomicIntegerArray(depth * width);
+        }
+
+        private int min(SlidingWindowSketch sketch, int h1, int h2) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < sketch.depth; row++) {
+                min = Math.min(min, counts.get(sketch.slot(row, h1, h2)));
+            }
+            return min;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.agendapulse.auth.security;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Sustained password checks per second through {@link PasswordHasher}, i.e. the login ceiling.
+ * Callers outnumber the pool four to one like request threads would, and the queue is sized
+ * so nothing is rejected. Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * -Dexec.args="-cp %classpath com.agendapulse.auth.security.PasswordHasherBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PasswordHasherBenchmark {
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHasher hasher;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        hasher = new PasswordHasher(encoder, strength, CORES, CORES * 8);
+        storedHash = encoder.encode("correct horse battery staple");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hasher.destroy();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return hasher.matches("correct horse battery staple", storedHash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(PasswordHasherBenchmark.class.getSimpleName())
+                .threads(CORES * 4)
+                .build()).run();
+        for (RunResult result : results) {
+            System.out.printf("strength %s: %.1f logins/s, %.1f logins/s per core (%d cores)%n",
+                    result.getParams().getParam("strength"),
+                    result.getPrimaryResult().getScore(),
+                    result.getPrimaryResult().getScore() / CORES,
+                    CORES);
+        }
+    }
+}
@@ -1,18 +1,32 @@
 package com.agendapulse.calendar.controller;
 
 import com.agendapulse.common.model.calendar.*;
+import com.agendapulse.common.model.imports.ImportProgressResponse;
+import com.agendapulse.common.model.page.CursorPage;
+import com.agendapulse.calendar.export.ExportFormat;
 import com.agendapulse.calendar.service.CalendarEventService;
+import com.agendapulse.calendar.service.CalendarImportService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/calendar/events")
@@ -20,6 +34,7 @@ import java.util.List;
 public class CalendarEventController {
 
     private final CalendarEventService calendarEventService;
+    private final CalendarImportService calendarImportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -37,6 +52,46 @@ public class CalendarEventController {
         return calendarEventService.getCalendarEvents(userId, status, pageable);
     }
 
+    /**
+     * Queues an iCalendar upload for import and answers right away; poll the returned location for progress.
+     */
+    @PostMapping(value = "/import", consumes = "text/calendar")
+    public ResponseEntity<ImportProgressResponse> importCalendarEvents(
+            @RequestHeader("X-User-Id") Long userId,
+            InputStream body) throws IOException {
+        ImportProgressResponse progress = calendarImportService.startImport(userId, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/calendar/events/import/" + progress.id()))
+                .body(progress);
+    }
+
+    @GetMapping("/import/{importId}")
+    public ImportProgressResponse getImportProgress(
+            @PathVariable UUID importId,
+            @RequestHeader("X-User-Id") Long userId) {
+        return calendarImportService.getProgress(importId, userId);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCalendarEvents(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"calendar-events." + exportFormat.extension() + "\"")
+                .body(out -> calendarEventService.exportCalendarEvents(userId, exportFormat, out));
+    }
+
+    @GetMapping("/scroll")
+    public CursorPage<CalendarEventResponse> scrollCalendarEvents(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) CalendarEventStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return calendarEventService.scrollCalendarEvents(userId, status, cursor, size);
+    }
+
     @GetMapping("/{eventId}")
     public CalendarEventResponse getCalendarEvent(
             @PathVariable Long eventId,
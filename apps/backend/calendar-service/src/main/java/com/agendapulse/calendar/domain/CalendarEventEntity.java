@@ -9,7 +9,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "calendar_events")
+@Table(name = "calendar_events", indexes = {
+        // Keyset pagination seeks on (user_id[, status], start_time, id) and reads the page straight off the index
+        @Index(name = "idx_calendar_events_user_start", columnList = "user_id, start_time, id"),
+        @Index(name = "idx_calendar_events_user_status_start", columnList = "user_id, status, start_time, id"),
+        @Index(name = "idx_calendar_events_reminder", columnList = "reminder_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -54,4 +59,9 @@ public class CalendarEventEntity {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Bumped on every update; the column default covers rows written before versioning
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
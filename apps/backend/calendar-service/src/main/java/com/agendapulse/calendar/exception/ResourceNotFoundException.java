@@ -0,0 +1,8 @@
+package com.agendapulse.calendar.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,110 @@
+package com.agendapulse.calendar.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes records one per line. Rows collect in memory until {@link #flush} hands them to the client, so a
+ * caller can read a chunk inside a transaction and only write to a possibly slow client after it ended.
+ * An export holds no more than one chunk. CSV columns are the record's components in declaration order.
+ */
+public class ExportWriter<T extends Record> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final ObjectWriter jsonWriter;
+    private final OutputStream out;
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(BUFFER_SIZE);
+    private final Writer writer;
+    private final Method[] accessors;
+
+    public ExportWriter(ExportFormat format, Class<T> type, ObjectMapper objectMapper, OutputStream out) {
+        this.format = format;
+        // The writer is shared by all rows: leave it open, and flush it per chunk rather than per row
+        this.jsonWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.out = out;
+        this.writer = new BufferedWriter(new OutputStreamWriter(chunk, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RecordComponent[] components = type.getRecordComponents();
+        this.accessors = Arrays.stream(components).map(RecordComponent::getAccessor).toArray(Method[]::new);
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(Arrays.stream(components).map(RecordComponent::getName).toArray());
+        }
+    }
+
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.NDJSON) {
+                jsonWriter.writeValue(writer, row);
+                writer.write('\n');
+            } else {
+                Object[] values = new Object[accessors.length];
+                for (int i = 0; i < accessors.length; i++) {
+                    values[i] = accessors[i].invoke(row);
+                }
+                writeCsvLine(values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not read " + row.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Hands what was written since the last flush to the client, which sees the export grow chunk by chunk.
+     */
+    public void flush() {
+        try {
+            writer.flush();
+            chunk.writeTo(out);
+            chunk.reset();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCsvLine(Object[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180: fields with separators, quotes or line breaks are quoted, quotes doubled
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,14 @@
+package com.agendapulse.calendar.imports;
+
+import java.util.Map;
+
+/**
+ * A VEVENT as read by {@link IcsReader}.
+ * @param alarmTrigger TRIGGER of the event's first VALARM, or null.
+ */
+public record IcsEvent(Map<String, IcsProperty> properties, IcsProperty alarmTrigger) {
+
+    public IcsProperty property(String name) {
+        return properties.get(name);
+    }
+}
@@ -0,0 +1,31 @@
+package com.agendapulse.calendar.imports;
+
+import java.util.Map;
+
+/**
+ * One content line of an iCalendar file, e.g. {@code DTSTART;TZID=Europe/Istanbul:20250101T090000}.
+ * Names and parameter names are upper case; the value is still escaped.
+ */
+public record IcsProperty(String name, Map<String, String> parameters, String value) {
+
+    public String parameter(String name) {
+        return parameters.get(name);
+    }
+
+    /**
+     * The value of a TEXT property with its escapes resolved.
+     */
+    public String text() {
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                text.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package com.agendapulse.calendar.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the VEVENTs of an iCalendar (RFC 5545) stream one at a time, so a file of any size is parsed
+ * with one event in memory. Other components are skipped.
+ */
+public class IcsReader {
+
+    private static final int MAX_LINE_LENGTH = 1 << 20;
+    private static final int MAX_EVENT_PROPERTIES = 1000;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private String lookahead;
+    private long lookaheadNumber;
+    private long physicalLines;
+    private long lineNumber;
+
+    public IcsReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The next event, or null at the end of the input. The event's own properties are keyed by name, first
+     * occurrence winning; the TRIGGER of its first VALARM is kept apart.
+     * @throws IllegalArgumentException if the input is not iCalendar or an event is malformed.
+     */
+    public IcsEvent readEvent() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                return readEventBody();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The line the last read content line started on; after {@link #readEvent}, its END:VEVENT line.
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    private IcsEvent readEventBody() throws IOException {
+        Map<String, IcsProperty> properties = new LinkedHashMap<>();
+        IcsProperty alarmTrigger = null;
+        // Nested components (VALARM) by depth below the VEVENT
+        int depth = 0;
+        boolean inAlarm = false;
+        int count = 0;
+        String line;
+        while ((line = readLine()) != null) {
+            if (++count > MAX_EVENT_PROPERTIES) {
+                throw new IllegalArgumentException("Event at line " + lineNumber + " has more than " + MAX_EVENT_PROPERTIES + " lines");
+            }
+            if (line.isEmpty()) {
+                continue;
+            }
+            IcsProperty property = parse(line);
+            if (property.name().equals("BEGIN")) {
+                depth++;
+                inAlarm = depth == 1 && property.value().equalsIgnoreCase("VALARM") && alarmTrigger == null;
+            } else if (property.name().equals("END")) {
+                if (depth == 0) {
+                    return new IcsEvent(properties, alarmTrigger);
+                }
+                depth--;
+                inAlarm = false;
+            } else if (depth == 0) {
+                properties.putIfAbsent(property.name(), property);
+            } else if (inAlarm && property.name().equals("TRIGGER")) {
+                alarmTrigger = property;
+            }
+        }
+        throw new IllegalArgumentException("Event is not closed with END:VEVENT");
+    }
+
+    // Splits NAME;PARAM=VALUE;PARAM="QUOTED:VALUE":VALUE at the first colon outside quotes
+    private IcsProperty parse(String line) {
+        int nameEnd = -1;
+        int valueStart = -1;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (!quoted && c == ';' && nameEnd < 0) {
+                nameEnd = i;
+            } else if (!quoted && c == ':') {
+                valueStart = i + 1;
+                if (nameEnd < 0) {
+                    nameEnd = i;
+                }
+                break;
+            }
+        }
+        if (valueStart < 0) {
+            throw new IllegalArgumentException("Line " + lineNumber + " is not an iCalendar property");
+        }
+        String name = line.substring(0, nameEnd).toUpperCase(Locale.ROOT);
+        Map<String, String> parameters = new HashMap<>();
+        if (nameEnd < valueStart - 1) {
+            for (String parameter : line.substring(nameEnd + 1, valueStart - 1).split(";(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    String value = parameter.substring(equals + 1);
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    parameters.put(parameter.substring(0, equals).toUpperCase(Locale.ROOT), value);
+                }
+            }
+        }
+        return new IcsProperty(name, parameters, line.substring(valueStart));
+    }
+
+    // Joins folded lines: a line starting with a space or tab continues the previous one
+    private String readLine() throws IOException {
+        String line = lookahead != null ? lookahead : nextPhysicalLine();
+        lineNumber = lookahead != null ? lookaheadNumber : physicalLines;
+        lookahead = null;
+        if (line == null) {
+            return null;
+        }
+        StringBuilder unfolded = null;
+        String next;
+        while ((next = nextPhysicalLine()) != null && !next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+            if (unfolded == null) {
+                unfolded = new StringBuilder(line);
+            }
+            if (unfolded.length() + next.length() > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException("Line " + lineNumber + " exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+            unfolded.append(next, 1, next.length());
+        }
+        lookahead = next;
+        lookaheadNumber = physicalLines;
+        return unfolded != null ? unfolded.toString() : line;
+    }
+
+    // Like BufferedReader.readLine, but refuses lines longer than MAX_LINE_LENGTH instead of buffering them
+    private String nextPhysicalLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            }
+            if (line.length() == MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException("Line " + (physicalLines + 1) + " exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+            line.append((char) c);
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        physicalLines++;
+        if (physicalLines == 1 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+            line.deleteCharAt(0);
+        }
+        return line.toString();
+    }
+}
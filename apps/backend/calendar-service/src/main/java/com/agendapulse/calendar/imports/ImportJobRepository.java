@@ -0,0 +1,42 @@
+package com.agendapulse.calendar.imports;
+
+import com.agendapulse.common.model.imports.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    Optional<ImportJob> findByIdAndUserId(UUID id, Long userId);
+
+    /**
+     * Moves a job from one status to another, unless something else moved it first.
+     * @return 1 if the job was in {@code from}, 0 otherwise.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :to, j.failureReason = :failureReason, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status IN :from")
+    int transition(@Param("id") UUID id,
+                   @Param("from") Collection<ImportStatus> from,
+                   @Param("to") ImportStatus to,
+                   @Param("failureReason") String failureReason,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :to, j.failureReason = :failureReason, j.updatedAt = :now " +
+           "WHERE j.status IN :from AND j.updatedAt < :before")
+    int transitionStale(@Param("from") Collection<ImportStatus> from,
+                        @Param("to") ImportStatus to,
+                        @Param("failureReason") String failureReason,
+                        @Param("before") LocalDateTime before,
+                        @Param("now") LocalDateTime now);
+}
@@ -1,36 +1,56 @@
 package com.agendapulse.calendar.kafka;
 
+import com.agendapulse.calendar.outbox.Outbox;
 import com.agendapulse.common.event.CalendarEvent;
+import com.agendapulse.common.event.ImportChunkEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+/**
+ * Writes calendar events to the outbox in the caller's transaction; {@link com.agendapulse.calendar.outbox.OutboxRelay}
+ * sends them to Kafka after commit.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class CalendarEventPublisher {
 
-    private final KafkaTemplate<String, CalendarEvent> kafkaTemplate;
+    private final Outbox outbox;
 
     public void publishCalendarEventCreated(CalendarEvent event) {
         log.info("Publishing calendar event created: {}", event);
-        kafkaTemplate.send("calendar.event.created", event);
+        outbox.append("calendar.event.created", key(event), event);
     }
 
     public void publishCalendarEventUpdated(CalendarEvent event) {
         log.info("Publishing calendar event updated: {}", event);
-        kafkaTemplate.send("calendar.event.update", event);
+        outbox.append("calendar.event.update", key(event), event);
     }
 
     public void publishCalendarEventReminder(CalendarEvent event) {
         log.info("Publishing calendar event reminder: {}", event);
-        kafkaTemplate.send("calender.event.reminder", event);
+        outbox.append("calender.event.reminder", key(event), event);
     }
 
     public void publishCalendarEventCompleted(CalendarEvent event) {
         log.info("Publishing calendar event completed: {}", event);
-        kafkaTemplate.send("calendar.event.completed", event);
+        outbox.append("calendar.event.completed", key(event), event);
     }
 
+    public void publishCalendarEventDeleted(CalendarEvent event) {
+        log.info("Publishing calendar event deleted: {}", event);
+        outbox.append("calendar.event.deleted", key(event), event);
+    }
+
+    // Keyed by import so the chunk summaries of one import stay in order
+    public void publishCalendarEventsImported(ImportChunkEvent event) {
+        log.info("Publishing calendar events imported: {}", event);
+        outbox.append("calendar.event.imported", event.importId().toString(), event);
+    }
+
+    // Keyed by calendar event so all events of one entry land on the same partition, in order
+    private static String key(CalendarEvent event) {
+        return String.valueOf(event.eventId());
+    }
 }
@@ -0,0 +1,41 @@
+package com.agendapulse.calendar.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * An event written in the same transaction as the change it describes, waiting for {@link OutboxRelay}
+ * to hand it to Kafka. Rows are deleted once the broker acknowledged them.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // Not pooled: Outbox takes the id when it inserts the row, so events of one key are numbered in commit order
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_ids")
+    @SequenceGenerator(name = "outbox_event_ids", sequenceName = "outbox_event_ids", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "message_key")
+    private String messageKey;
+
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
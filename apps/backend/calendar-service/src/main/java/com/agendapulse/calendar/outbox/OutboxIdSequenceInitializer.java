@@ -0,0 +1,26 @@
+package com.agendapulse.calendar.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aligns the outbox id sequence before the relay and the web server start, so new events never sort ahead of
+ * events written before an upgrade.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private final OutboxRepository outboxRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long value = outboxRepository.alignIdSequence();
+        if (value != null) {
+            log.info("Moved outbox_event_ids to {} past the waiting outbox events", value);
+        }
+    }
+}
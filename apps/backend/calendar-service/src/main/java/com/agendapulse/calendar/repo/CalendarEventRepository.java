@@ -2,15 +2,23 @@ package com.agendapulse.calendar.repo;
 
 import com.agendapulse.calendar.domain.CalendarEventEntity;
 import com.agendapulse.calendar.domain.CalendarEventStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface CalendarEventRepository extends JpaRepository<CalendarEventEntity, Long> {
     Page<CalendarEventEntity> findByUserId(Long userId, Pageable pageable);
@@ -19,8 +27,103 @@ public interface CalendarEventRepository extends JpaRepository<CalendarEventEnti
 
     Optional<CalendarEventEntity> findByIdAndUserId(Long id, Long userId);
 
-    @Query("SELECT e FROM CalendarEventEntity e WHERE e.reminderTime <= :now AND e.reminderSent = false AND e.status = 'SCHEDULED'")
-    List<CalendarEventEntity> findEventsNeedingReminder(@Param("now") LocalDateTime now);
+    /**
+     * Applies the non-null fields in a single statement and returns the updated row.
+     * Rows that would end before they start are not updated. With a {@code version}, only that version is updated.
+     * A new reminder time re-arms the reminder.
+     * @return Empty if no event of the user matches, the version is stale or the times are invalid.
+     */
+    @Query(value = """
+            WITH updated AS (
+                UPDATE calendar_events SET
+                    title = COALESCE(CAST(:title AS varchar), title),
+                    description = COALESCE(CAST(:description AS text), description),
+                    start_time = COALESCE(CAST(:startTime AS timestamp), start_time),
+                    end_time = COALESCE(CAST(:endTime AS timestamp), end_time),
+                    reminder_time = COALESCE(CAST(:reminderTime AS timestamp), reminder_time),
+                    reminder_sent = CASE WHEN CAST(:reminderTime AS timestamp) IS DISTINCT FROM reminder_time
+                                         AND CAST(:reminderTime AS timestamp) IS NOT NULL THEN false ELSE reminder_sent END,
+                    status = COALESCE(CAST(:status AS varchar), status),
+                    updated_at = :now,
+                    version = version + 1
+                WHERE id = :id AND user_id = :userId AND (CAST(:version AS bigint) IS NULL OR version = :version)
+                  AND COALESCE(CAST(:endTime AS timestamp), end_time) >= COALESCE(CAST(:startTime AS timestamp), start_time)
+                RETURNING *)
+            SELECT * FROM updated
+            """, nativeQuery = true)
+    Optional<CalendarEventEntity> updateReturning(@Param("id") Long id,
+                                                  @Param("userId") Long userId,
+                                                  @Param("title") String title,
+                                                  @Param("description") String description,
+                                                  @Param("startTime") LocalDateTime startTime,
+                                                  @Param("endTime") LocalDateTime endTime,
+                                                  @Param("reminderTime") LocalDateTime reminderTime,
+                                                  @Param("status") String status,
+                                                  @Param("version") Long version,
+                                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes the event in a single statement and returns the deleted row, or empty if no event of the user matches.
+     */
+    @Query(value = """
+            WITH deleted AS (DELETE FROM calendar_events WHERE id = :id AND user_id = :userId RETURNING *)
+            SELECT * FROM deleted
+            """, nativeQuery = true)
+    Optional<CalendarEventEntity> deleteReturning(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Keyset pages in start time order. No OFFSET and no count query, so every page costs the same.
+    List<CalendarEventEntity> findByUserIdOrderByStartTimeAscIdAsc(Long userId, Limit limit);
+
+    List<CalendarEventEntity> findByUserIdAndStatusOrderByStartTimeAscIdAsc(Long userId, CalendarEventStatus status, Limit limit);
+
+    @Query("SELECT e FROM CalendarEventEntity e WHERE e.userId = :userId AND (e.startTime, e.id) > (:startTime, :id) " +
+           "ORDER BY e.startTime, e.id")
+    List<CalendarEventEntity> findPageAfter(@Param("userId") Long userId,
+                                            @Param("startTime") LocalDateTime startTime,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    @Query("SELECT e FROM CalendarEventEntity e WHERE e.userId = :userId AND e.status = :status AND (e.startTime, e.id) > (:startTime, :id) " +
+           "ORDER BY e.startTime, e.id")
+    List<CalendarEventEntity> findPageAfter(@Param("userId") Long userId,
+                                            @Param("status") CalendarEventStatus status,
+                                            @Param("startTime") LocalDateTime startTime,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    // Export chunks in start time order, streamed off a server-side cursor 500 rows at a time
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<CalendarEventEntity> streamByUserIdOrderByStartTimeAscIdAsc(Long userId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e FROM CalendarEventEntity e WHERE e.userId = :userId AND (e.startTime, e.id) > (:startTime, :id) " +
+           "ORDER BY e.startTime, e.id")
+    Stream<CalendarEventEntity> streamAfter(@Param("userId") Long userId,
+                                            @Param("startTime") LocalDateTime startTime,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    // Unsent reminders of the given shards in reminder time order, a range scan on idx_calendar_events_reminder
+    @Query("SELECT e FROM CalendarEventEntity e WHERE (e.reminderTime, e.id) > (:reminderTime, :id) AND e.reminderTime <= :until " +
+           "AND MOD(e.id, :shardCount) IN :shards AND e.reminderSent = false AND e.status = :status ORDER BY e.reminderTime, e.id")
+    List<CalendarEventEntity> findRemindersAfter(@Param("reminderTime") LocalDateTime reminderTime,
+                                                 @Param("id") Long id,
+                                                 @Param("until") LocalDateTime until,
+                                                 @Param("status") CalendarEventStatus status,
+                                                 @Param("shardCount") int shardCount,
+                                                 @Param("shards") Collection<Integer> shards,
+                                                 Limit limit);
+
+    /**
+     * Marks the reminder as sent unless it was sent already, or the event was moved or cancelled since.
+     * @return 1 if this call claimed the reminder, else 0.
+     */
+    @Modifying
+    @Query("UPDATE CalendarEventEntity e SET e.reminderSent = true WHERE e.id = :id AND e.reminderTime = :reminderTime " +
+           "AND e.reminderSent = false AND e.status = :status")
+    int markReminderSent(@Param("id") Long id,
+                         @Param("reminderTime") LocalDateTime reminderTime,
+                         @Param("status") CalendarEventStatus status);
 
     @Query("SELECT e FROM CalendarEventEntity e WHERE e.userId = :userId AND e.startTime BETWEEN :start AND :end")
     List<CalendarEventEntity> findEventsBetween(@Param("userId") Long userId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
@@ -0,0 +1,109 @@
+package com.agendapulse.calendar.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code slotCount} slots of one tick each; every level above
+ * has as many slots, each as wide as a whole turn of the level below. A deadline goes into the lowest
+ * level that reaches it and moves down a level each time its coarse slot comes up, so scheduling is O(1),
+ * a tick only touches the slots that are due, and no slot ever holds deadlines of a later turn.
+ * Levels are added as far-out deadlines need them.
+ * Any thread may {@link #schedule}; {@link #advance} must always be called from the same thread.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int slotCount;
+    private final List<List<Node<T>>[]> levels = new ArrayList<>();
+    private final Queue<Node<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private long nextTick;
+
+    public HierarchicalTimingWheel(long tickMillis, int slotCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slotCount = slotCount;
+        this.nextTick = startMillis / tickMillis;
+        addLevel();
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        pending.add(new Node<>(item, deadlineMillis / tickMillis));
+        size.incrementAndGet();
+    }
+
+    /**
+     * Hands every item whose deadline is at or before {@code nowMillis} to {@code expired}, in tick order.
+     * Items scheduled in the past expire on this call.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        for (Node<T> node; (node = pending.poll()) != null; ) {
+            place(new Node<>(node.item, Math.max(node.tick, nextTick)), nextTick);
+        }
+
+        long currentTick = nowMillis / tickMillis;
+        for (; nextTick <= currentTick; nextTick++) {
+            long tick = nextTick;
+            // Coarse slots starting at this tick move down first, their deadlines may be due right now
+            long span = slotCount;
+            for (int level = 1; level < levels.size() && tick % span == 0; level++, span *= slotCount) {
+                List<Node<T>> slot = slot(level, tick / span);
+                if (!slot.isEmpty()) {
+                    List<Node<T>> cascading = new ArrayList<>(slot);
+                    slot.clear();
+                    cascading.forEach(node -> place(node, tick));
+                }
+            }
+
+            List<Node<T>> slot = slot(0, tick);
+            if (!slot.isEmpty()) {
+                for (Node<T> node : slot) {
+                    size.decrementAndGet();
+                    expired.accept(node.item);
+                }
+                slot.clear();
+            }
+        }
+    }
+
+    /**
+     * @return Items scheduled and not expired yet, including ones that were cancelled by their owner.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void place(Node<T> node, long currentTick) {
+        long delta = node.tick - currentTick;
+        int level = 0;
+        long span = 1;
+        while (delta >= span * slotCount) {
+            span *= slotCount;
+            level++;
+            if (level == levels.size()) {
+                addLevel();
+            }
+        }
+        slot(level, node.tick / span).add(node);
+    }
+
+    private List<Node<T>> slot(int level, long index) {
+        return levels.get(level)[(int) (index % slotCount)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel() {
+        List<Node<T>>[] slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        levels.add(slots);
+    }
+
+    private record Node<T>(T item, long tick) {
+    }
+}
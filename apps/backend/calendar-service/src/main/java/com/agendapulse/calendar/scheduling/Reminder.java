@@ -0,0 +1,10 @@
+package com.agendapulse.calendar.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending reminder. The reminder time is part of it, so a reminder scheduled before the event was
+ * moved no longer matches the event and is dropped.
+ */
+record Reminder(Long eventId, LocalDateTime reminderTime, long fireAtMillis) {
+}
@@ -0,0 +1,55 @@
+package com.agendapulse.calendar.scheduling;
+
+import com.agendapulse.calendar.domain.CalendarEventEntity;
+import com.agendapulse.calendar.domain.CalendarEventStatus;
+import com.agendapulse.calendar.kafka.CalendarEventPublisher;
+import com.agendapulse.calendar.repo.CalendarEventRepository;
+import com.agendapulse.common.event.CalendarEvent;
+import com.agendapulse.common.event.CalendarEventData;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+class ReminderNotifier {
+
+    private final CalendarEventRepository calendarEventRepository;
+    private final CalendarEventPublisher eventPublisher;
+
+    /**
+     * Claims each reminder with a conditional update and publishes the reminder event for the ones this
+     * instance won, so every instance may fire the same reminder but only one event goes out.
+     * @return The number of events published.
+     */
+    @Transactional
+    public int sendReminders(List<Reminder> reminders) {
+        Map<Long, CalendarEventEntity> events = calendarEventRepository.findAllById(reminders.stream().map(Reminder::eventId).toList()).stream()
+                .collect(Collectors.toMap(CalendarEventEntity::getId, Function.identity()));
+
+        int sent = 0;
+        for (Reminder reminder : reminders) {
+            CalendarEventEntity event = events.get(reminder.eventId());
+            if (event == null
+                    || calendarEventRepository.markReminderSent(event.getId(), reminder.reminderTime(), CalendarEventStatus.SCHEDULED) == 0) {
+                continue;
+            }
+            CalendarEventData eventData = new CalendarEventData(
+                    event.getTitle(),
+                    event.getDescription(),
+                    event.getStartTime(),
+                    event.getEndTime(),
+                    event.getReminderTime(),
+                    com.agendapulse.common.model.calendar.CalendarEventStatus.valueOf(event.getStatus().name())
+            );
+            eventPublisher.publishCalendarEventReminder(CalendarEvent.reminder(event.getId(), event.getUserId(), eventData));
+            sent++;
+        }
+        return sent;
+    }
+}
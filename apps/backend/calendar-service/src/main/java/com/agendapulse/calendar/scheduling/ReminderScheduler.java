@@ -0,0 +1,234 @@
+package com.agendapulse.calendar.scheduling;
+
+import com.agendapulse.calendar.domain.CalendarEventEntity;
+import com.agendapulse.calendar.domain.CalendarEventStatus;
+import com.agendapulse.calendar.repo.CalendarEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends calendar event reminders at their reminder time, to within one {@code tick}.
+ * Reminders due within the next {@code window} are held in a {@link HierarchicalTimingWheel}; every
+ * {@code load-interval} a range scan on {@code reminder_time} refills it, so memory holds one window's worth
+ * however many reminders lie further ahead. Each scan covers the whole window again, back to {@code catch-up}
+ * in the past: that picks up events imported or changed on other instances and reminders missed while no
+ * instance was running, and reminders already in the wheel are not added twice. Changes made through
+ * {@link com.agendapulse.calendar.service.CalendarEventService} are applied after commit.
+ * With several instances, each one holds only the reminders of the {@link ReminderShards} it leases.
+ */
+@Component
+@Slf4j
+public class ReminderScheduler implements DisposableBean {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final CalendarEventRepository calendarEventRepository;
+    private final ReminderNotifier notifier;
+    private final ReminderShards shards;
+    private final Duration window;
+    private final Duration catchUp;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Long, Reminder> scheduled = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService firing;
+
+    private final Timer fireLag;
+    private final Counter sent;
+
+    // Every reminder due up to here is either in the wheel or was sent already
+    private volatile LocalDateTime loadedUntil;
+
+    public ReminderScheduler(CalendarEventRepository calendarEventRepository,
+                             ReminderNotifier notifier,
+                             ReminderShards shards,
+                             MeterRegistry meterRegistry,
+                             @Value("${calendar.reminders.window:10m}") Duration window,
+                             @Value("${calendar.reminders.catch-up:1h}") Duration catchUp,
+                             @Value("${calendar.reminders.tick:100ms}") Duration tick,
+                             @Value("${calendar.reminders.wheel-slots:512}") int wheelSlots) {
+        this.calendarEventRepository = calendarEventRepository;
+        this.notifier = notifier;
+        this.shards = shards;
+        this.window = window;
+        this.catchUp = catchUp;
+
+        long tickMillis = tick.toMillis();
+        this.wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSlots, clock.millis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("reminder-wheel").daemon().factory());
+        this.firing = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("reminder-notifier").daemon().factory());
+
+        Gauge.builder("calendar.reminders.scheduled", scheduled, Map::size)
+                .description("Reminders waiting in the timing wheel")
+                .register(meterRegistry);
+        this.fireLag = Timer.builder("calendar.reminders.fire.lag")
+                .description("How late a reminder was taken off the wheel")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sent = Counter.builder("calendar.reminders.sent").register(meterRegistry);
+
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules the unsent reminders from {@code now - catch-up} up to {@code now + window}, in keyset batches
+     * along {@code idx_calendar_events_reminder}.
+     */
+    @Scheduled(fixedDelayString = "${calendar.reminders.load-interval:10s}")
+    public synchronized void load() {
+        Set<Integer> owned = shards.owned();
+        if (owned.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime until = now.plus(window);
+        // Published before querying: an event moved into the range while the query runs is scheduled by eventSaved
+        loadedUntil = until;
+
+        LocalDateTime afterReminderTime = now.minus(catchUp);
+        long afterId = Long.MAX_VALUE;
+        int loaded = 0;
+        List<CalendarEventEntity> batch;
+        do {
+            batch = calendarEventRepository.findRemindersAfter(afterReminderTime, afterId, until,
+                    CalendarEventStatus.SCHEDULED, shards.shardCount(), owned, Limit.of(LOAD_BATCH_SIZE));
+            for (CalendarEventEntity event : batch) {
+                if (schedule(event.getId(), event.getReminderTime())) {
+                    loaded++;
+                }
+                afterReminderTime = event.getReminderTime();
+                afterId = event.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        if (loaded > 0) {
+            log.debug("Loaded {} reminders due until {}", loaded, until);
+        }
+    }
+
+    /**
+     * Drops the reminders of shards this instance lost and loads the ones of shards it gained.
+     */
+    @Scheduled(fixedDelayString = "${calendar.reminders.rebalance-interval:10s}")
+    public void rebalance() {
+        ReminderShards.Change change = shards.rebalance();
+        if (!change.lost().isEmpty()) {
+            scheduled.keySet().removeIf(eventId -> change.lost().contains(shards.shardOf(eventId)));
+        }
+        if (!change.gained().isEmpty()) {
+            load();
+        }
+    }
+
+    /**
+     * Reschedules or drops the event's reminder once the current transaction commits.
+     */
+    public void eventSaved(CalendarEventEntity event) {
+        Long eventId = event.getId();
+        LocalDateTime reminderTime = event.getReminderTime();
+        boolean pending = event.getStatus() == CalendarEventStatus.SCHEDULED && !Boolean.TRUE.equals(event.getReminderSent());
+        afterCommit(() -> {
+            LocalDateTime until = loadedUntil;
+            if (pending && reminderTime != null && until != null && !reminderTime.isAfter(until) && shards.owns(eventId)) {
+                schedule(eventId, reminderTime);
+            } else {
+                // Due beyond the loaded range, or another instance's: a later load picks it up
+                scheduled.remove(eventId);
+            }
+        });
+    }
+
+    public void eventDeleted(Long eventId) {
+        afterCommit(() -> scheduled.remove(eventId));
+    }
+
+    // @return Whether the reminder was added, false if the wheel holds it already
+    private boolean schedule(Long eventId, LocalDateTime reminderTime) {
+        long fireAtMillis = reminderTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+        Reminder reminder = new Reminder(eventId, reminderTime, fireAtMillis);
+        if (reminder.equals(scheduled.put(eventId, reminder))) {
+            return false;
+        }
+        wheel.schedule(reminder, fireAtMillis);
+        return true;
+    }
+
+    private void tick() {
+        try {
+            long now = clock.millis();
+            List<Reminder> due = new ArrayList<>();
+            wheel.advance(now, reminder -> {
+                // Superseded or cancelled reminders are no longer the mapped value
+                if (scheduled.remove(reminder.eventId(), reminder) && shards.owns(reminder.eventId())) {
+                    fireLag.record(Math.max(0, now - reminder.fireAtMillis()), TimeUnit.MILLISECONDS);
+                    due.add(reminder);
+                }
+            });
+            if (!due.isEmpty()) {
+                firing.execute(() -> fire(due));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate schedule
+            log.error("Reminder tick failed", e);
+        }
+    }
+
+    private void fire(List<Reminder> due) {
+        try {
+            sent.increment(notifier.sendReminders(due));
+        } catch (RuntimeException e) {
+            log.warn("Sending {} reminders failed, retrying in {}: {}", due.size(), RETRY_DELAY, e.toString());
+            long retryAt = clock.millis() + RETRY_DELAY.toMillis();
+            for (Reminder reminder : due) {
+                if (scheduled.putIfAbsent(reminder.eventId(), reminder) == null) {
+                    wheel.schedule(reminder, retryAt);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        firing.shutdown();
+        shards.releaseAll();
+    }
+}
@@ -0,0 +1,28 @@
+package com.agendapulse.calendar.scheduling;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Ownership of one reminder shard, the events whose {@code id % shard count} is {@code shard}.
+ * An instance sends the reminders of a shard only while it holds an unexpired lease on it.
+ */
+@Entity
+@Table(name = "reminder_shard_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+class ReminderShardLease {
+
+    @Id
+    private Integer shard;
+
+    // Null while nobody holds the shard
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
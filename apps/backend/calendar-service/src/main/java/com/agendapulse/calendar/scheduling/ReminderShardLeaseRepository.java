@@ -0,0 +1,91 @@
+package com.agendapulse.calendar.scheduling;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lease times come from the database clock, so clock skew between instances cannot make two of them hold a shard.
+ */
+interface ReminderShardLeaseRepository extends JpaRepository<ReminderShardLease, Integer> {
+
+    // Creates the missing shard rows, unowned. Shards beyond the configured count are left alone.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO reminder_shard_leases (shard, owner, expires_at)
+            SELECT shard, NULL, '-infinity' FROM generate_series(0, :shardCount - 1) AS shard
+            ON CONFLICT (shard) DO NOTHING
+            """, nativeQuery = true)
+    int createShards(@Param("shardCount") int shardCount);
+
+    /**
+     * Extends the leases the owner still holds.
+     * @return The renewed shards. A lease that expired in the meantime may have gone to another instance and is not renewed.
+     */
+    @Transactional
+    @Query(value = """
+            WITH renewed AS (
+                UPDATE reminder_shard_leases SET expires_at = now() + make_interval(secs => :ttlSeconds)
+                WHERE owner = :owner AND expires_at > now()
+                RETURNING shard)
+            SELECT shard FROM renewed
+            """, nativeQuery = true)
+    List<Integer> renew(@Param("owner") String owner, @Param("ttlSeconds") double ttlSeconds);
+
+    /**
+     * Takes up to {@code limit} unowned or expired shards. Rows another instance is taking at the same time are skipped
+     * rather than waited for.
+     * @return The acquired shards.
+     */
+    @Transactional
+    @Query(value = """
+            WITH free AS (
+                SELECT shard FROM reminder_shard_leases
+                WHERE shard < :shardCount AND expires_at <= now()
+                ORDER BY shard
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED),
+            acquired AS (
+                UPDATE reminder_shard_leases l SET owner = :owner, expires_at = now() + make_interval(secs => :ttlSeconds)
+                FROM free WHERE l.shard = free.shard
+                RETURNING l.shard)
+            SELECT shard FROM acquired
+            """, nativeQuery = true)
+    List<Integer> acquire(@Param("owner") String owner,
+                          @Param("shardCount") int shardCount,
+                          @Param("limit") int limit,
+                          @Param("ttlSeconds") double ttlSeconds);
+
+    /**
+     * Records that the owner is alive for another {@code ttlSeconds}, and forgets owners that stopped long ago.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH forgotten AS (DELETE FROM reminder_shard_owners WHERE expires_at < now() - interval '1 day')
+            INSERT INTO reminder_shard_owners (owner, expires_at) VALUES (:owner, now() + make_interval(secs => :ttlSeconds))
+            ON CONFLICT (owner) DO UPDATE SET expires_at = EXCLUDED.expires_at
+            """, nativeQuery = true)
+    int heartbeat(@Param("owner") String owner, @Param("ttlSeconds") double ttlSeconds);
+
+    // Instances with a live heartbeat, including those that hold no shard yet
+    @Query(value = "SELECT COUNT(*) FROM reminder_shard_owners WHERE expires_at > now()", nativeQuery = true)
+    int countOwners();
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM reminder_shard_owners WHERE owner = :owner", nativeQuery = true)
+    int deleteOwner(@Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE reminder_shard_leases SET owner = NULL, expires_at = '-infinity' WHERE owner = :owner AND shard IN :shards",
+           nativeQuery = true)
+    int release(@Param("owner") String owner, @Param("shards") Collection<Integer> shards);
+}
@@ -0,0 +1,25 @@
+package com.agendapulse.calendar.scheduling;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Heartbeat of an instance taking part in reminder dispatch, whether or not it holds any shard yet.
+ * The live rows are what the shards are divided by.
+ */
+@Entity
+@Table(name = "reminder_shard_owners")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+class ReminderShardOwner {
+
+    @Id
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,126 @@
+package com.agendapulse.calendar.scheduling;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The reminder shards this instance owns. Events are spread over {@code shards} shards by id, and every shard is
+ * leased to one instance at a time, so each reminder is loaded and sent by a single instance and the reminder load
+ * divides across instances.
+ * Every {@link #rebalance} records a heartbeat, renews the held leases, takes free or expired shards up to an even
+ * share of the instances with a live heartbeat, and releases shards beyond that share so a newly started instance,
+ * which heartbeats before it holds anything, gets its part on its next round. The shards of an
+ * instance that stops renewing expire after {@code lease-ttl} and are taken over by the others.
+ */
+@Component
+@Slf4j
+class ReminderShards {
+
+    private final ReminderShardLeaseRepository leaseRepository;
+    private final int shardCount;
+    private final double ttlSeconds;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile Set<Integer> owned = Set.of();
+    // Until when the leases are certainly still held, by the local clock; past it nothing is owned
+    private volatile long ownedUntilNanos;
+
+    ReminderShards(ReminderShardLeaseRepository leaseRepository,
+                   MeterRegistry meterRegistry,
+                   @Value("${calendar.reminders.shards:64}") int shardCount,
+                   @Value("${calendar.reminders.lease-ttl:30s}") Duration leaseTtl) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("calendar.reminders.shards must be positive");
+        }
+        this.leaseRepository = leaseRepository;
+        this.shardCount = shardCount;
+        this.ttlSeconds = leaseTtl.toMillis() / 1000.0;
+
+        Gauge.builder("calendar.reminders.shards.owned", this, shards -> shards.owned.size())
+                .description("Reminder shards leased by this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renews, acquires and releases leases.
+     * @return The change in ownership.
+     */
+    synchronized Change rebalance() {
+        if (owned.isEmpty()) {
+            leaseRepository.createShards(shardCount);
+        }
+        long renewedAtNanos = System.nanoTime();
+        leaseRepository.heartbeat(owner, ttlSeconds);
+        Set<Integer> held = new HashSet<>(leaseRepository.renew(owner, ttlSeconds));
+
+        // Counts instances that hold nothing yet too, so the others release their surplus to them
+        int owners = Math.max(1, leaseRepository.countOwners());
+        int share = (shardCount + owners - 1) / owners;
+        if (held.size() < share) {
+            held.addAll(leaseRepository.acquire(owner, shardCount, share - held.size(), ttlSeconds));
+        } else if (held.size() > share) {
+            List<Integer> surplus = held.stream().sorted(Collections.reverseOrder()).limit(held.size() - share).toList();
+            leaseRepository.release(owner, surplus);
+            surplus.forEach(held::remove);
+        }
+
+        Set<Integer> previous = owned;
+        owned = Set.copyOf(held);
+        ownedUntilNanos = renewedAtNanos + (long) (ttlSeconds * 1e9);
+
+        Set<Integer> gained = new HashSet<>(held);
+        gained.removeAll(previous);
+        Set<Integer> lost = new HashSet<>(previous);
+        lost.removeAll(held);
+        if (!gained.isEmpty() || !lost.isEmpty()) {
+            log.info("Reminder shards of {}: {} owned of {} with {} instances, gained {}, lost {}",
+                    owner, held.size(), shardCount, owners, gained.size(), lost.size());
+        }
+        return new Change(gained, lost);
+    }
+
+    /**
+     * Gives up all leases, so the other instances take the shards over without waiting for them to expire.
+     */
+    synchronized void releaseAll() {
+        Set<Integer> previous = owned;
+        owned = Set.of();
+        if (!previous.isEmpty()) {
+            leaseRepository.release(owner, new ArrayList<>(previous));
+        }
+        leaseRepository.deleteOwner(owner);
+    }
+
+    /**
+     * @return The shards owned, empty once the leases may have expired because renewing them kept failing.
+     */
+    Set<Integer> owned() {
+        return System.nanoTime() - ownedUntilNanos < 0 ? owned : Set.of();
+    }
+
+    boolean owns(Long eventId) {
+        return owned().contains(shardOf(eventId));
+    }
+
+    int shardCount() {
+        return shardCount;
+    }
+
+    int shardOf(Long eventId) {
+        return (int) Math.floorMod(eventId, (long) shardCount);
+    }
+
+    record Change(Set<Integer> gained, Set<Integer> lost) {
+    }
+}
@@ -8,21 +8,41 @@ import org.springframework.stereotype.Service;
 import com.agendapulse.common.event.CalendarEvent;
 import com.agendapulse.common.event.CalendarEventData;
 import com.agendapulse.common.model.calendar.*;
+import com.agendapulse.common.model.page.CursorPage;
+import com.agendapulse.common.model.page.PageCursor;
 import com.agendapulse.calendar.domain.CalendarEventEntity;
 import com.agendapulse.calendar.domain.CalendarEventStatus;
+import com.agendapulse.calendar.exception.ResourceNotFoundException;
+import com.agendapulse.calendar.export.ExportFormat;
+import com.agendapulse.calendar.export.ExportWriter;
+import com.agendapulse.calendar.scheduling.ReminderScheduler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CalendarEventService {
 
+    private static final int EXPORT_CHUNK_SIZE = 10_000;
+
     private final CalendarEventRepository calendarEventRepository;
     private final CalendarEventPublisher eventPublisher;
+    private final ReminderScheduler reminderScheduler;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
 
     @Transactional
     public CalendarEventResponse createCalendarEvent(CreateCalendarEventRequest request, Long userId) {
@@ -43,6 +63,7 @@ public class CalendarEventService {
                 .build();
 
         CalendarEventEntity savedEvent = calendarEventRepository.save(calendarEvent);
+        reminderScheduler.eventSaved(savedEvent);
 
         // Publish event
         CalendarEventData eventData = new CalendarEventData(
@@ -58,50 +79,40 @@ public class CalendarEventService {
         return toResponse(savedEvent);
     }
 
+    /**
+     * Updates the event with one conditional UPDATE ... RETURNING instead of a SELECT followed by an UPDATE.
+     * @throws ResourceNotFoundException if the user has no such event.
+     * @throws OptimisticLockingFailureException if {@code request.version()} is set and no longer current.
+     */
     @Transactional
     public CalendarEventResponse updateCalendarEvent(Long eventId, UpdateCalendarEventRequest request, Long userId) {
-        CalendarEventEntity calendarEvent = calendarEventRepository.findByIdAndUserId(eventId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("Calendar event not found"));
-
-        if (request.title() != null) {
-            calendarEvent.setTitle(request.title());
-        }
-        if (request.description() != null) {
-            calendarEvent.setDescription(request.description());
-        }
-        if (request.startTime() != null) {
-            calendarEvent.setStartTime(request.startTime());
-        }
-        if (request.endTime() != null) {
-            calendarEvent.setEndTime(request.endTime());
-        }
-        if (request.reminderTime() != null) {
-            calendarEvent.setReminderTime(request.reminderTime());
-        }
-        if (request.status() != null) {
-            calendarEvent.setStatus(CalendarEventStatus.valueOf(request.status().name()));
-
-            // Publish completed event if status changed to COMPLETED
-            if (request.status() == com.agendapulse.common.model.calendar.CalendarEventStatus.COMPLETED) {
-                CalendarEventData eventData = new CalendarEventData(
-                        calendarEvent.getTitle(),
-                        calendarEvent.getDescription(),
-                        calendarEvent.getStartTime(),
-                        calendarEvent.getEndTime(),
-                        calendarEvent.getReminderTime(),
-                        com.agendapulse.common.model.calendar.CalendarEventStatus.COMPLETED
-                );
-                eventPublisher.publishCalendarEventCompleted(CalendarEvent.completed(calendarEvent.getId(), userId, eventData));
-            }
-        }
+        CalendarEventEntity updatedEvent = calendarEventRepository.updateReturning(
+                        eventId,
+                        userId,
+                        request.title(),
+                        request.description(),
+                        request.startTime(),
+                        request.endTime(),
+                        request.reminderTime(),
+                        request.status() != null ? request.status().name() : null,
+                        request.version(),
+                        LocalDateTime.now())
+                .orElseThrow(() -> updateMiss(eventId, userId, request));
+        reminderScheduler.eventSaved(updatedEvent);
 
-        // Validation after update
-        if (calendarEvent.getEndTime().isBefore(calendarEvent.getStartTime())) {
-            throw new IllegalArgumentException("End time cannot be before start time");
+        // Publish completed event if status changed to COMPLETED
+        if (request.status() == com.agendapulse.common.model.calendar.CalendarEventStatus.COMPLETED) {
+            CalendarEventData eventData = new CalendarEventData(
+                    updatedEvent.getTitle(),
+                    updatedEvent.getDescription(),
+                    updatedEvent.getStartTime(),
+                    updatedEvent.getEndTime(),
+                    updatedEvent.getReminderTime(),
+                    com.agendapulse.common.model.calendar.CalendarEventStatus.COMPLETED
+            );
+            eventPublisher.publishCalendarEventCompleted(CalendarEvent.completed(updatedEvent.getId(), userId, eventData));
         }
 
-        CalendarEventEntity updatedEvent = calendarEventRepository.save(calendarEvent);
-
         // Publish update event
         CalendarEventData eventData = new CalendarEventData(
                 updatedEvent.getTitle(),
@@ -125,18 +136,93 @@ public class CalendarEventService {
         return events.map(this::toResponse);
     }
 
+    /**
+     * Keyset-paginated listing in start time order. Reads one row past the page to know whether another page follows.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CalendarEventResponse> scrollCalendarEvents(Long userId, com.agendapulse.common.model.calendar.CalendarEventStatus status,
+                                                                  String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        CalendarEventStatus entityStatus = status != null ? CalendarEventStatus.valueOf(status.name()) : null;
+        List<CalendarEventEntity> events;
+        if (cursor == null) {
+            events = entityStatus != null
+                    ? calendarEventRepository.findByUserIdAndStatusOrderByStartTimeAscIdAsc(userId, entityStatus, limit)
+                    : calendarEventRepository.findByUserIdOrderByStartTimeAscIdAsc(userId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            events = entityStatus != null
+                    ? calendarEventRepository.findPageAfter(userId, entityStatus, after.sortKey(), after.id(), limit)
+                    : calendarEventRepository.findPageAfter(userId, after.sortKey(), after.id(), limit);
+        }
+
+        boolean hasNext = events.size() > size;
+        List<CalendarEventEntity> page = hasNext ? events.subList(0, size) : events;
+        CalendarEventEntity last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext ? new PageCursor(last.getStartTime(), last.getId()).encode() : null;
+        return new CursorPage<>(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
     @Transactional(readOnly = true)
     public CalendarEventResponse getCalendarEvent(Long eventId, Long userId) {
         CalendarEventEntity calendarEvent = calendarEventRepository.findByIdAndUserId(eventId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("Calendar event not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Calendar event not found"));
         return toResponse(calendarEvent);
     }
 
+    /**
+     * Deletes the event with one DELETE ... RETURNING, which also yields the data for the event.
+     * @throws ResourceNotFoundException if the user has no such event.
+     */
     @Transactional
     public void deleteCalendarEvent(Long eventId, Long userId) {
-        CalendarEventEntity calendarEvent = calendarEventRepository.findByIdAndUserId(eventId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("Calendar event not found"));
-        calendarEventRepository.delete(calendarEvent);
+        CalendarEventEntity calendarEvent = calendarEventRepository.deleteReturning(eventId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Calendar event not found"));
+        reminderScheduler.eventDeleted(calendarEvent.getId());
+
+        CalendarEventData eventData = new CalendarEventData(
+                calendarEvent.getTitle(),
+                calendarEvent.getDescription(),
+                calendarEvent.getStartTime(),
+                calendarEvent.getEndTime(),
+                calendarEvent.getReminderTime(),
+                com.agendapulse.common.model.calendar.CalendarEventStatus.valueOf(calendarEvent.getStatus().name())
+        );
+        eventPublisher.publishCalendarEventDeleted(CalendarEvent.deleted(calendarEvent.getId(), userId, eventData));
+    }
+
+    /**
+     * Streams all of the user's events in start time order into {@code out}.
+     * Rows come off a server-side cursor and are serialized and detached one at a time, so memory stays at one chunk.
+     * Each chunk of {@code EXPORT_CHUNK_SIZE} rows is read in its own short read-only transaction and
+     * continues where the previous one ended, so no snapshot stays open for the whole export. A chunk is sent to
+     * the client only after its transaction ended, so a slow client does not hold a pooled connection.
+     */
+    public void exportCalendarEvents(Long userId, ExportFormat format, OutputStream out) {
+        ExportWriter<CalendarEventResponse> writer = new ExportWriter<>(format, CalendarEventResponse.class, objectMapper, out);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        CalendarEventEntity[] last = new CalendarEventEntity[1];
+        int read;
+        do {
+            read = readOnly.execute(status -> {
+                Limit limit = Limit.of(EXPORT_CHUNK_SIZE);
+                try (Stream<CalendarEventEntity> events = last[0] == null
+                        ? calendarEventRepository.streamByUserIdOrderByStartTimeAscIdAsc(userId, limit)
+                        : calendarEventRepository.streamAfter(userId, last[0].getStartTime(), last[0].getId(), limit)) {
+                    int count = 0;
+                    for (CalendarEventEntity event : (Iterable<CalendarEventEntity>) events::iterator) {
+                        writer.write(toResponse(event));
+                        entityManager.detach(event);
+                        last[0] = event;
+                        count++;
+                    }
+                    return count;
+                }
+            });
+            writer.flush();
+        } while (read == EXPORT_CHUNK_SIZE);
     }
 
     @Transactional(readOnly = true)
@@ -156,8 +242,21 @@ public class CalendarEventService {
                 com.agendapulse.common.model.calendar.CalendarEventStatus.valueOf(calendarEvent.getStatus().name()),
                 calendarEvent.getUserId(),
                 calendarEvent.getCreatedAt(),
-                calendarEvent.getUpdatedAt()
+                calendarEvent.getUpdatedAt(),
+                calendarEvent.getVersion()
         );
     }
 
+    // Zero rows matched: find out why, on the failure path only
+    private RuntimeException updateMiss(Long eventId, Long userId, UpdateCalendarEventRequest request) {
+        CalendarEventEntity current = calendarEventRepository.findByIdAndUserId(eventId, userId).orElse(null);
+        if (current == null) {
+            return new ResourceNotFoundException("Calendar event not found");
+        }
+        if (request.version() != null && !request.version().equals(current.getVersion())) {
+            return new OptimisticLockingFailureException("Calendar event was changed by someone else, reload it and try again");
+        }
+        return new IllegalArgumentException("End time cannot be before start time");
+    }
+
 }
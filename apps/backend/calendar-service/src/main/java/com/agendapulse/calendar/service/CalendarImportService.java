@@ -0,0 +1,359 @@
+package com.agendapulse.calendar.service;
+
+import com.agendapulse.calendar.domain.CalendarEventStatus;
+import com.agendapulse.calendar.exception.ResourceNotFoundException;
+import com.agendapulse.calendar.imports.IcsEvent;
+import com.agendapulse.calendar.imports.IcsProperty;
+import com.agendapulse.calendar.imports.IcsReader;
+import com.agendapulse.calendar.imports.ImportJob;
+import com.agendapulse.calendar.imports.ImportJobRepository;
+import com.agendapulse.calendar.kafka.CalendarEventPublisher;
+import com.agendapulse.common.event.ImportChunkEvent;
+import com.agendapulse.common.model.calendar.CreateCalendarEventRequest;
+import com.agendapulse.common.model.imports.ImportProgressResponse;
+import com.agendapulse.common.model.imports.ImportStatus;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of calendar events from iCalendar. The upload is spooled to a temporary file and answered with
+ * 202 right away; a worker then parses it one VEVENT at a time and commits every {@code CHUNK_SIZE} events in
+ * one transaction: the events as one JDBC batch, one {@link ImportChunkEvent} and the job's progress. Memory
+ * therefore stays bounded by one chunk whatever the file size, and clients poll the job for progress.
+ * SUMMARY, DESCRIPTION, DTSTART, DTEND or DURATION, STATUS and the first VALARM's TRIGGER are imported;
+ * times with a zone are converted to the server's local time.
+ */
+@Service
+@Slf4j
+public class CalendarImportService implements DisposableBean {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<ImportStatus> ACTIVE = List.of(ImportStatus.PENDING, ImportStatus.RUNNING);
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    // Events need no ids here, so they are inserted directly; IDENTITY ids would keep Hibernate from batching
+    private static final String INSERT = """
+            INSERT INTO calendar_events (title, description, start_time, end_time, reminder_time, status,
+                                         user_id, reminder_sent, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private final ImportJobRepository importJobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CalendarEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxSizeBytes;
+    private final Duration abandonedAfter;
+    private final ThreadPoolExecutor workers;
+
+    public CalendarImportService(ImportJobRepository importJobRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 CalendarEventPublisher eventPublisher,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${calendar.import.max-size:1GB}") DataSize maxSize,
+                                 @Value("${calendar.import.concurrency:2}") int concurrency,
+                                 @Value("${calendar.import.queue-capacity:20}") int queueCapacity,
+                                 @Value("${calendar.import.abandoned-after:1h}") Duration abandonedAfter) {
+        this.importJobRepository = importJobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSizeBytes = maxSize.toBytes();
+        this.abandonedAfter = abandonedAfter;
+        this.workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "calendar-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Spools the upload and queues it for import.
+     * @throws IllegalArgumentException if the upload exceeds {@code max-size}.
+     * @throws ResponseStatusException with 503 if too many imports are queued.
+     */
+    public ImportProgressResponse startImport(Long userId, InputStream body) throws IOException {
+        Path file = spool(body);
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(ImportStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try {
+            workers.execute(() -> run(job.getId(), userId, file));
+        } catch (RejectedExecutionException e) {
+            delete(file);
+            importJobRepository.transition(job.getId(), ACTIVE, ImportStatus.FAILED, "Too many imports in progress", LocalDateTime.now());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress, try again later");
+        }
+        return toResponse(job);
+    }
+
+    public ImportProgressResponse getProgress(UUID importId, Long userId) {
+        return importJobRepository.findByIdAndUserId(importId, userId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found"));
+    }
+
+    /**
+     * Fails jobs without progress for {@code abandoned-after}, left behind by an instance that stopped mid-import.
+     */
+    @Scheduled(fixedDelayString = "${calendar.import.abandoned-check-interval:5m}")
+    public void failAbandoned() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = importJobRepository.transitionStale(ACTIVE, ImportStatus.FAILED, "Import was interrupted",
+                now.minus(abandonedAfter), now);
+        if (failed > 0) {
+            log.warn("Marked {} abandoned imports as failed", failed);
+        }
+    }
+
+    private void run(UUID importId, Long userId, Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (importJobRepository.transition(importId, List.of(ImportStatus.PENDING), ImportStatus.RUNNING, null, LocalDateTime.now()) == 0) {
+                return;
+            }
+            IcsReader ics = new IcsReader(reader);
+            int chunk = 0;
+            List<IcsEvent> events = new ArrayList<>(CHUNK_SIZE);
+            List<Long> lineNumbers = new ArrayList<>(CHUNK_SIZE);
+            IcsEvent event;
+            while ((event = ics.readEvent()) != null) {
+                events.add(event);
+                lineNumbers.add(ics.lineNumber());
+                if (events.size() == CHUNK_SIZE) {
+                    importChunk(importId, userId, chunk++, events, lineNumbers);
+                    events.clear();
+                    lineNumbers.clear();
+                }
+            }
+            if (!events.isEmpty()) {
+                importChunk(importId, userId, chunk, events, lineNumbers);
+            }
+            importJobRepository.transition(importId, List.of(ImportStatus.RUNNING), ImportStatus.COMPLETED, null, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Import {} failed", importId, e);
+            String reason = e instanceof IllegalArgumentException ? e.getMessage() : "Import failed unexpectedly";
+            importJobRepository.transition(importId, ACTIVE, ImportStatus.FAILED, reason, LocalDateTime.now());
+        } finally {
+            delete(file);
+        }
+    }
+
+    private void importChunk(UUID importId, Long userId, int chunk, List<IcsEvent> events, List<Long> lineNumbers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Object[]> rows = new ArrayList<>(events.size());
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    rows.add(toRow(events.get(i), userId, now));
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    errors.add("Event ending on line " + lineNumbers.get(i) + ": " + e.getMessage());
+                }
+            }
+
+            jdbcTemplate.batchUpdate(INSERT, rows);
+            eventPublisher.publishCalendarEventsImported(
+                    ImportChunkEvent.calendarEventsImported(importId, userId, chunk, rows.size(), errors.size()));
+
+            ImportJob job = importJobRepository.findById(importId).orElseThrow();
+            job.setRowsRead(job.getRowsRead() + events.size());
+            job.setRowsImported(job.getRowsImported() + rows.size());
+            job.setRowsFailed(job.getRowsFailed() + errors.size());
+            job.setErrors(appendErrors(job.getErrors(), errors));
+            job.setUpdatedAt(now);
+        });
+    }
+
+    private Object[] toRow(IcsEvent event, Long userId, LocalDateTime now) {
+        IcsProperty start = event.property("DTSTART");
+        IcsProperty end = event.property("DTEND");
+        IcsProperty duration = event.property("DURATION");
+        LocalDateTime startTime = start != null ? dateTime(start) : null;
+        LocalDateTime endTime;
+        if (end != null) {
+            endTime = dateTime(end);
+        } else if (startTime != null && duration != null) {
+            endTime = startTime.plus(duration(duration.value()));
+        } else if (startTime != null && isDate(start)) {
+            endTime = startTime.plusDays(1);
+        } else {
+            endTime = startTime;
+        }
+
+        CreateCalendarEventRequest request = new CreateCalendarEventRequest(
+                text(event.property("SUMMARY")),
+                text(event.property("DESCRIPTION")),
+                startTime,
+                endTime,
+                reminderTime(event.alarmTrigger(), startTime, endTime));
+        Set<ConstraintViolation<CreateCalendarEventRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        if (request.endTime().isBefore(request.startTime())) {
+            throw new IllegalArgumentException("End time cannot be before start time");
+        }
+
+        IcsProperty icsStatus = event.property("STATUS");
+        CalendarEventStatus status = icsStatus != null && icsStatus.value().equalsIgnoreCase("CANCELLED")
+                ? CalendarEventStatus.CANCELLED
+                : CalendarEventStatus.SCHEDULED;
+        // Imported history would otherwise set off a reminder for every past event at once
+        boolean reminderSent = request.reminderTime() == null || !request.reminderTime().isAfter(now);
+        return new Object[]{request.title(), request.description(), request.startTime(), request.endTime(),
+                request.reminderTime(), status.name(), userId, reminderSent, now, now};
+    }
+
+    private static String text(IcsProperty property) {
+        return property == null || property.value().isEmpty() ? null : property.text();
+    }
+
+    private static boolean isDate(IcsProperty property) {
+        return "DATE".equalsIgnoreCase(property.parameter("VALUE")) || property.value().length() == 8;
+    }
+
+    private static LocalDateTime dateTime(IcsProperty property) {
+        String value = property.value();
+        if (isDate(property)) {
+            return LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+        }
+        if (value.endsWith("Z")) {
+            return LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME)
+                    .atOffset(ZoneOffset.UTC)
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+        }
+        LocalDateTime local = LocalDateTime.parse(value, DATE_TIME);
+        String zone = property.parameter("TZID");
+        if (zone != null) {
+            try {
+                return local.atZone(ZoneId.of(zone)).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            } catch (DateTimeException e) {
+                // Not an IANA zone id (e.g. a Windows zone name); keep the time as written
+            }
+        }
+        return local;
+    }
+
+    // RFC 5545 durations; java.time has no week designator
+    private static Duration duration(String value) {
+        String weeks = value.replaceFirst("^([+-]?)P(\\d+)W$", "$1$2");
+        return weeks.equals(value) ? Duration.parse(value) : Duration.ofDays(7L * Long.parseLong(weeks));
+    }
+
+    private static LocalDateTime reminderTime(IcsProperty trigger, LocalDateTime startTime, LocalDateTime endTime) {
+        if (trigger == null || startTime == null) {
+            return null;
+        }
+        if ("DATE-TIME".equalsIgnoreCase(trigger.parameter("VALUE"))) {
+            return dateTime(trigger);
+        }
+        LocalDateTime anchor = "END".equalsIgnoreCase(trigger.parameter("RELATED")) ? endTime : startTime;
+        return anchor.plus(duration(trigger.value()));
+    }
+
+    private static String appendErrors(String stored, List<String> errors) {
+        List<String> all = new ArrayList<>(stored == null ? List.of() : Arrays.asList(stored.split("\n")));
+        for (String error : errors) {
+            if (all.size() >= MAX_REPORTED_ERRORS) {
+                break;
+            }
+            // Errors quote the offending value, which may span lines
+            all.add(error.replace('\n', ' ').replace('\r', ' '));
+        }
+        return all.isEmpty() ? null : String.join("\n", all);
+    }
+
+    // Copies the upload to disk in fixed-size buffers, so the request never holds more than one in memory
+    private Path spool(InputStream body) throws IOException {
+        Path file = Files.createTempFile("calendar-import-", ".ics");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxSizeBytes) {
+                    throw new IllegalArgumentException("Import exceeds " + DataSize.ofBytes(maxSizeBytes).toMegabytes() + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private ImportProgressResponse toResponse(ImportJob job) {
+        return new ImportProgressResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getRowsRead(),
+                job.getRowsImported(),
+                job.getRowsFailed(),
+                job.getErrors() == null ? List.of() : List.of(job.getErrors().split("\n")),
+                job.getFailureReason(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,125 @@
+package com.agendapulse.calendar.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IcsReaderTests {
+
+    @Test
+    void readsEachEventAndSkipsOtherComponents() throws IOException {
+        List<IcsEvent> events = events("""
+                BEGIN:VCALENDAR
+                VERSION:2.0
+                BEGIN:VTIMEZONE
+                TZID:Europe/Istanbul
+                END:VTIMEZONE
+                BEGIN:VEVENT
+                SUMMARY:First
+                END:VEVENT
+                BEGIN:VTODO
+                SUMMARY:Not an event
+                END:VTODO
+                BEGIN:VEVENT
+                SUMMARY:Second
+                END:VEVENT
+                END:VCALENDAR
+                """);
+
+        assertThat(events).extracting(event -> event.property("SUMMARY").text()).containsExactly("First", "Second");
+    }
+
+    @Test
+    void parsesParametersAndKeepsTheFirstOccurrence() throws IOException {
+        IcsEvent event = events("""
+                BEGIN:VEVENT
+                dtstart;TZID=Europe/Istanbul;X-NOTE="a;b:c":20250101T090000
+                DTSTART:20250102T090000
+                END:VEVENT
+                """).getFirst();
+
+        IcsProperty start = event.property("DTSTART");
+        assertThat(start.value()).isEqualTo("20250101T090000");
+        assertThat(start.parameter("TZID")).isEqualTo("Europe/Istanbul");
+        assertThat(start.parameter("X-NOTE")).isEqualTo("a;b:c");
+    }
+
+    @Test
+    void unfoldsContinuationLinesAndResolvesEscapes() throws IOException {
+        IcsEvent event = events("BEGIN:VEVENT\r\nDESCRIPTION:one\\, two\\n\r\n  three\r\n\tfour\r\nEND:VEVENT\r\n").getFirst();
+
+        assertThat(event.property("DESCRIPTION").text()).isEqualTo("one, two\n threefour");
+    }
+
+    @Test
+    void keepsTheTriggerOfTheFirstAlarmApart() throws IOException {
+        IcsEvent event = events("""
+                BEGIN:VEVENT
+                SUMMARY:Standup
+                BEGIN:VALARM
+                ACTION:DISPLAY
+                TRIGGER:-PT15M
+                END:VALARM
+                BEGIN:VALARM
+                TRIGGER:-PT5M
+                END:VALARM
+                END:VEVENT
+                """).getFirst();
+
+        assertThat(event.alarmTrigger().value()).isEqualTo("-PT15M");
+        assertThat(event.properties()).containsOnlyKeys("SUMMARY");
+    }
+
+    @Test
+    void skipsTheByteOrderMark() throws IOException {
+        assertThat(events("\uFEFFBEGIN:VEVENT\nUID:1\nEND:VEVENT\n")).hasSize(1);
+    }
+
+    @Test
+    void reportsTheLineEachEventEndsOn() throws IOException {
+        IcsReader reader = new IcsReader(new BufferedReader(new StringReader(
+                "BEGIN:VEVENT\nDESCRIPTION:folded\n  line\nEND:VEVENT\nBEGIN:VEVENT\nEND:VEVENT\n")));
+
+        reader.readEvent();
+        assertThat(reader.lineNumber()).isEqualTo(4);
+        reader.readEvent();
+        assertThat(reader.lineNumber()).isEqualTo(6);
+    }
+
+    @Test
+    void rejectsAnEventThatIsNotClosed() {
+        assertThatThrownBy(() -> events("BEGIN:VEVENT\nSUMMARY:Open\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("END:VEVENT");
+    }
+
+    @Test
+    void rejectsALineThatIsNotAProperty() {
+        assertThatThrownBy(() -> events("BEGIN:VEVENT\nSUMMARY:Fine\nno colon here\nEND:VEVENT\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Line 3");
+    }
+
+    @Test
+    void rejectsAnOverlongLine() {
+        assertThatThrownBy(() -> events("BEGIN:VEVENT\nSUMMARY:" + "x".repeat(1 << 20) + "\nEND:VEVENT\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds");
+    }
+
+    private static List<IcsEvent> events(String ics) throws IOException {
+        IcsReader reader = new IcsReader(new BufferedReader(new StringReader(ics)));
+        List<IcsEvent> events = new ArrayList<>();
+        for (IcsEvent event; (event = reader.readEvent()) != null; ) {
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,117 @@
+package com.agendapulse.calendar.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A wheel of one-millisecond ticks and eight slots, so a turn is 8 ticks at level 0, 64 at level 1, 512 at level 2.
+ */
+class HierarchicalTimingWheelTests {
+
+    private static final int SLOTS = 8;
+
+    private final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, SLOTS, 0);
+    private final List<Long> expired = new ArrayList<>();
+
+    @Test
+    void deadlinesOfTheSameTickExpireTogetherInSchedulingOrder() {
+        wheel.schedule(1L, 5);
+        wheel.schedule(2L, 5);
+        wheel.schedule(3L, 5);
+
+        wheel.advance(4, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(5, expired::add);
+        assertThat(expired).containsExactly(1L, 2L, 3L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesAtTheEdgeOfEachLevelExpireOnTheirTick() {
+        long[] deadlines = {SLOTS - 1, SLOTS, SLOTS + 1,
+                SLOTS * SLOTS - 1, SLOTS * SLOTS, SLOTS * SLOTS + 1,
+                SLOTS * SLOTS * SLOTS - 1, SLOTS * SLOTS * SLOTS, SLOTS * SLOTS * SLOTS + 1,
+                SLOTS * SLOTS * SLOTS * SLOTS};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        assertExpireOnTheirTick(deadlines, deadlines[deadlines.length - 1]);
+    }
+
+    @Test
+    void deadlinesOneTurnOutAtEachLevelExpireOnTheirTickWhenScheduledMidTurn() {
+        wheel.advance(3, expired::add);
+        long[] deadlines = {3 + SLOTS, 3 + SLOTS * SLOTS, 3 + SLOTS * SLOTS * SLOTS};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        assertExpireOnTheirTick(deadlines, deadlines[deadlines.length - 1]);
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        wheel.advance(100, expired::add);
+
+        wheel.schedule(1L, 50);
+        wheel.schedule(2L, 0);
+        wheel.schedule(3L, 100);
+
+        // Tick 100 is done already, they all fall on tick 101
+        wheel.advance(100, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(101, expired::add);
+        assertThat(expired).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void wheelStartingLateExpiresEarlierDeadlinesOnItsFirstAdvance() {
+        HierarchicalTimingWheel<Long> late = new HierarchicalTimingWheel<>(100, SLOTS, 1_000_000);
+        late.schedule(1L, 10);
+
+        late.advance(1_000_000, expired::add);
+        assertThat(expired).containsExactly(1L);
+    }
+
+    @Test
+    void largeClockJumpExpiresEverythingDueInDeadlineOrder() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = random.nextLong(100_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        wheel.schedule(-1L, 100_001);
+
+        wheel.advance(100_000, expired::add);
+
+        assertThat(expired).containsExactlyInAnyOrderElementsOf(deadlines).isSorted();
+        assertThat(wheel.size()).isOne();
+
+        wheel.advance(100_001, expired::add);
+        assertThat(expired).endsWith(-1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    // Advances one tick at a time and checks each item expires on the tick equal to its value
+    private void assertExpireOnTheirTick(long[] deadlines, long until) {
+        for (long now = 0; now <= until; now++) {
+            long tick = now;
+            wheel.advance(now, item -> {
+                assertThat(item).as("expired at %d", tick).isEqualTo(tick);
+                expired.add(item);
+            });
+        }
+        assertThat(expired).containsExactly(Arrays.stream(deadlines).boxed().toArray(Long[]::new));
+    }
+}
@@ -0,0 +1,147 @@
+package com.agendapulse.calendar.scheduling;
+
+import com.agendapulse.calendar.domain.CalendarEventEntity;
+import com.agendapulse.calendar.domain.CalendarEventStatus;
+import com.agendapulse.calendar.repo.CalendarEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the scheduler's own ticker with 10 ms ticks against a mocked repository and notifier.
+ */
+class ReminderSchedulerTests {
+
+    private final CalendarEventRepository repository = mock(CalendarEventRepository.class);
+    private final ReminderNotifier notifier = mock(ReminderNotifier.class);
+    private final ReminderShards shards = mock(ReminderShards.class);
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(shards.owned()).thenReturn(Set.of(0));
+        when(shards.owns(anyLong())).thenReturn(true);
+        when(shards.shardCount()).thenReturn(1);
+        when(notifier.sendReminders(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        scheduler = new ReminderScheduler(repository, notifier, shards, new SimpleMeterRegistry(),
+                Duration.ofMinutes(10), Duration.ofHours(1), Duration.ofMillis(10), 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    void loadedReminderIsSentWhenItIsDue() {
+        CalendarEventEntity event = event(1L, LocalDateTime.now().plusNanos(200_000_000));
+        when(repository.findRemindersAfter(any(), anyLong(), any(), any(), anyInt(), any(), any()))
+                .thenReturn(List.of(event))
+                .thenReturn(List.of());
+
+        scheduler.load();
+
+        assertThat(sentEventIds(1)).containsExactly(1L);
+    }
+
+    @Test
+    void savedReminderInThePastIsSentOnTheNextTick() {
+        scheduler.load();
+
+        scheduler.eventSaved(event(2L, LocalDateTime.now().minusMinutes(5)));
+
+        assertThat(sentEventIds(1)).containsExactly(2L);
+    }
+
+    @Test
+    void deletedEventIsNotReminded() {
+        scheduler.load();
+
+        scheduler.eventSaved(event(3L, LocalDateTime.now().plusNanos(300_000_000)));
+        scheduler.eventDeleted(3L);
+
+        verify(notifier, after(600).never()).sendReminders(anyList());
+    }
+
+    @Test
+    void movedEventIsRemindedOnceAtItsNewTime() {
+        scheduler.load();
+
+        CalendarEventEntity event = event(4L, LocalDateTime.now().plusNanos(200_000_000));
+        scheduler.eventSaved(event);
+        event.setReminderTime(LocalDateTime.now().plusNanos(400_000_000));
+        scheduler.eventSaved(event);
+
+        assertThat(sentEventIds(1)).containsExactly(4L);
+        verify(notifier, after(500).times(1)).sendReminders(anyList());
+    }
+
+    @Test
+    void failedSendIsRetried() {
+        when(notifier.sendReminders(anyList()))
+                .thenThrow(new IllegalStateException("mail server down"))
+                .thenReturn(1);
+        scheduler.load();
+
+        scheduler.eventSaved(event(5L, LocalDateTime.now().minusSeconds(1)));
+
+        // Retried after the one second retry delay
+        assertThat(sentEventIds(2)).containsExactly(5L, 5L);
+    }
+
+    @Test
+    void reminderOfAShardNoLongerOwnedIsNotSent() {
+        scheduler.load();
+        scheduler.eventSaved(event(6L, LocalDateTime.now().plusNanos(300_000_000)));
+
+        when(shards.owns(6L)).thenReturn(false);
+
+        verify(notifier, after(600).never()).sendReminders(anyList());
+    }
+
+    @Test
+    void nothingIsScheduledBeforeTheFirstLoad() {
+        scheduler.eventSaved(event(7L, LocalDateTime.now().minusSeconds(1)));
+
+        verify(notifier, after(300).never()).sendReminders(anyList());
+    }
+
+    // Waits for the given number of sendReminders calls and returns the event ids of all of them
+    private List<Long> sentEventIds(int calls) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Reminder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notifier, timeout(3000).times(calls)).sendReminders(captor.capture());
+        return captor.getAllValues().stream()
+                .flatMap(List::stream)
+                .map(Reminder::eventId)
+                .toList();
+    }
+
+    private static CalendarEventEntity event(Long id, LocalDateTime reminderTime) {
+        return CalendarEventEntity.builder()
+                .id(id)
+                .status(CalendarEventStatus.SCHEDULED)
+                .reminderSent(false)
+                .reminderTime(reminderTime)
+                .build();
+    }
+}
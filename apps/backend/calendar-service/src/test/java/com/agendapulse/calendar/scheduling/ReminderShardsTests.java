@@ -0,0 +1,162 @@
+package com.agendapulse.calendar.scheduling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Several {@link ReminderShards} sharing one in-memory lease table that follows the repository's queries.
+ */
+class ReminderShardsTests {
+
+    private static final int SHARDS = 64;
+
+    private final LeaseTable table = new LeaseTable();
+
+    @Test
+    void newInstanceTakesOverHalfOfTheShards() {
+        ReminderShards a = shards();
+        ReminderShards b = shards();
+
+        a.rebalance();
+        assertThat(a.owned()).hasSize(SHARDS);
+
+        rebalance(a, b, 3);
+
+        assertThat(a.owned()).hasSize(SHARDS / 2);
+        assertThat(b.owned()).hasSize(SHARDS / 2);
+        assertThat(union(a, b)).hasSize(SHARDS);
+    }
+
+    @Test
+    void changesInOwnershipAreReported() {
+        ReminderShards a = shards();
+        ReminderShards b = shards();
+        a.rebalance();
+        b.rebalance();
+
+        ReminderShards.Change released = a.rebalance();
+        ReminderShards.Change acquired = b.rebalance();
+
+        assertThat(released.lost()).hasSize(SHARDS / 2);
+        assertThat(acquired.gained()).isEqualTo(released.lost());
+    }
+
+    @Test
+    void remainingInstanceTakesOverTheShardsOfOneThatStopped() {
+        ReminderShards a = shards();
+        ReminderShards b = shards();
+        rebalance(a, b, 3);
+
+        a.releaseAll();
+        b.rebalance();
+
+        assertThat(a.owned()).isEmpty();
+        assertThat(b.owned()).hasSize(SHARDS);
+    }
+
+    @Test
+    void threeInstancesCoverEveryShardWithoutOverlap() {
+        ReminderShards a = shards();
+        ReminderShards b = shards();
+        ReminderShards c = shards();
+
+        for (int round = 0; round < 4; round++) {
+            a.rebalance();
+            b.rebalance();
+            c.rebalance();
+        }
+
+        assertThat(a.owned().size() + b.owned().size() + c.owned().size()).isEqualTo(SHARDS);
+        assertThat(union(a, b, c)).hasSize(SHARDS);
+        assertThat(List.of(a.owned().size(), b.owned().size(), c.owned().size())).allMatch(size -> size >= 20 && size <= 22);
+    }
+
+    private ReminderShards shards() {
+        return new ReminderShards(mock(ReminderShardLeaseRepository.class, table::answer),
+                new SimpleMeterRegistry(), SHARDS, Duration.ofSeconds(30));
+    }
+
+    private static void rebalance(ReminderShards a, ReminderShards b, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            a.rebalance();
+            b.rebalance();
+        }
+    }
+
+    private static Set<Integer> union(ReminderShards... instances) {
+        Set<Integer> all = new HashSet<>();
+        for (ReminderShards instance : instances) {
+            all.addAll(instance.owned());
+        }
+        return all;
+    }
+
+    // Leases never expire here; instances leave through releaseAll
+    private static class LeaseTable {
+
+        private final Map<Integer, String> leases = new TreeMap<>();
+        private final Map<String, Boolean> owners = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        synchronized Object answer(InvocationOnMock invocation) {
+            Object[] args = invocation.getArguments();
+            return switch (invocation.getMethod().getName()) {
+                case "createShards" -> {
+                    int created = 0;
+                    for (int shard = 0; shard < (int) args[0]; shard++) {
+                        if (!leases.containsKey(shard)) {
+                            leases.put(shard, null);
+                            created++;
+                        }
+                    }
+                    yield created;
+                }
+                case "heartbeat" -> {
+                    owners.put((String) args[0], true);
+                    yield 1;
+                }
+                case "countOwners" -> owners.size();
+                case "deleteOwner" -> owners.remove((String) args[0]) != null ? 1 : 0;
+                case "renew" -> leases.entrySet().stream()
+                        .filter(lease -> args[0].equals(lease.getValue()))
+                        .map(Map.Entry::getKey)
+                        .toList();
+                case "acquire" -> {
+                    List<Integer> acquired = new ArrayList<>();
+                    for (Map.Entry<Integer, String> lease : leases.entrySet()) {
+                        if (acquired.size() < (int) args[2] && lease.getKey() < (int) args[1] && lease.getValue() == null) {
+                            lease.setValue((String) args[0]);
+                            acquired.add(lease.getKey());
+                        }
+                    }
+                    yield acquired;
+                }
+                case "release" -> {
+                    int released = 0;
+                    for (Integer shard : (Collection<Integer>) args[1]) {
+                        if (args[0].equals(leases.get(shard))) {
+                            leases.put(shard, null);
+                            released++;
+                        }
+                    }
+                    yield released;
+                }
+                default -> throw new UnsupportedOperationException(invocation.getMethod().getName());
+            };
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.agendapulse.notification.config;
+
+import com.agendapulse.common.jwt.ClaimsCache;
+import com.agendapulse.common.jwt.JwtVerifier;
+import com.agendapulse.common.jwt.RevocationList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public RevocationList revocationList(MeterRegistry meterRegistry) {
+        RevocationList revocations = new RevocationList();
+        Gauge.builder("notification.jwt.revoked-tokens", revocations, RevocationList::size).register(meterRegistry);
+        return revocations;
+    }
+
+    // Tokens are only checked once per WebSocket handshake, so caching them buys nothing here
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${jwt.secret}") String jwtSecret, RevocationList revocations) {
+        return new JwtVerifier(jwtSecret, ClaimsCache.none(), revocations);
+    }
+}
@@ -1,18 +1,29 @@
 package com.agendapulse.notification.controller;
 
 import com.agendapulse.notification.websocket.NotificationWebSocketHandler;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/websocket")
-@RequiredArgsConstructor
 public class WebSocketController {
 
+    public static final String CLUSTER_SECRET_HEADER = "X-Cluster-Secret";
+
     private final NotificationWebSocketHandler webSocketHandler;
+    private final byte[] clusterSecret;
+
+    public WebSocketController(NotificationWebSocketHandler webSocketHandler,
+                               @Value("${notification.cluster.secret:}") String clusterSecret) {
+        this.webSocketHandler = webSocketHandler;
+        this.clusterSecret = clusterSecret.getBytes(StandardCharsets.UTF_8);
+    }
 
     @PostMapping("/test/{userId}")
     public ResponseEntity<Map<String, String>> sendTestNotification(
@@ -35,6 +46,20 @@ public class WebSocketController {
         ));
     }
 
+    // Called by the node that consumed an event for a user whose connection lives on this node.
+    // Only other nodes know the cluster secret; without one configured, nothing is accepted.
+    @PostMapping("/deliver/{userId}")
+    public ResponseEntity<Void> deliver(@PathVariable String userId,
+                                        @RequestHeader(value = CLUSTER_SECRET_HEADER, required = false) String secret,
+                                        @RequestBody String message) {
+        if (clusterSecret.length == 0 || secret == null
+                || !MessageDigest.isEqual(clusterSecret, secret.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        webSocketHandler.sendToUser(userId, message);
+        return ResponseEntity.accepted().build();
+    }
+
     @PostMapping("/broadcast")
     public ResponseEntity<Map<String, String>> broadcast(@RequestBody Map<String, String> message) {
         String notification = String.format(
@@ -0,0 +1,26 @@
+package com.agendapulse.notification.kafka;
+
+import com.agendapulse.common.event.TokenRevokedEvent;
+import com.agendapulse.common.jwt.RevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps this node's {@link RevocationList} in step with tokens revoked by auth-service, so a revoked
+ * token cannot open a WebSocket even when the node is reached without the gateway. Every node reads
+ * the whole topic with its own group id; retention covers one token lifetime.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationListener {
+
+    private final RevocationList revocations;
+
+    @KafkaListener(topics = "auth.token.revoked",
+            groupId = "notification-service-${random.uuid}",
+            properties = "auto.offset.reset=earliest")
+    public void handleTokenRevoked(TokenRevokedEvent event) {
+        revocations.revoke(event.tokenId(), event.expiresAt());
+    }
+}
@@ -1,32 +1,81 @@
 package com.agendapulse.notification.service.impl;
 
+import com.agendapulse.notification.controller.WebSocketController;
 import com.agendapulse.notification.dto.NotificationDTO;
 import com.agendapulse.notification.entity.Notification;
 import com.agendapulse.notification.service.WebSocketService;
+import com.agendapulse.notification.websocket.NotificationNodeRouter;
 import com.agendapulse.notification.websocket.NotificationWebSocketHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WebSocketServiceImpl implements WebSocketService {
 
     private final NotificationWebSocketHandler webSocketHandler;
+    private final NotificationNodeRouter nodeRouter;
     private final ObjectMapper objectMapper;
+    private final RestClient restClient;
+    private final String clusterSecret;
+
+    public WebSocketServiceImpl(NotificationWebSocketHandler webSocketHandler,
+                                NotificationNodeRouter nodeRouter,
+                                ObjectMapper objectMapper,
+                                RestClient.Builder restClientBuilder,
+                                @Value("${notification.cluster.secret:}") String clusterSecret,
+                                @Value("${notification.cluster.forward-connect-timeout:1s}") Duration connectTimeout,
+                                @Value("${notification.cluster.forward-read-timeout:2s}") Duration readTimeout) {
+        this.webSocketHandler = webSocketHandler;
+        this.nodeRouter = nodeRouter;
+        this.objectMapper = objectMapper;
+        // Without timeouts a hung node would hold the notification thread, and every event behind it, indefinitely
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restClient = restClientBuilder.clone().requestFactory(requestFactory).build();
+        this.clusterSecret = clusterSecret;
+    }
 
     @Override
     public void sendNotification(Notification notification) {
         try {
             NotificationDTO dto = NotificationDTO.from(notification);
             String message = objectMapper.writeValueAsString(dto);
-            webSocketHandler.sendToUser(notification.getUserId().toString(), message);
+            String userId = notification.getUserId().toString();
+
+            // A connection opened before the ring last changed stays here until the client reconnects
+            if (webSocketHandler.hasSession(userId) || nodeRouter.isLocal(userId)) {
+                webSocketHandler.sendToUser(userId, message);
+            } else {
+                forward(nodeRouter.ownerOf(userId), userId, message);
+            }
             log.debug("WebSocket notification sent to user: {}", notification.getUserId());
         } catch (Exception e) {
             log.error("Failed to send WebSocket notification: {}", e.getMessage(), e);
             throw new RuntimeException("WebSocket notification failed", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * One attempt, bounded by the forward timeouts. A push that fails is not retried: the notification
+     * is stored and the client gets it with its next fetch.
+     */
+    private void forward(String node, String userId, String message) {
+        restClient.post()
+                .uri("http://{node}/api/v1/websocket/deliver/{userId}", node, userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(WebSocketController.CLUSTER_SECRET_HEADER, clusterSecret)
+                .body(message)
+                .retrieve()
+                .toBodilessEntity();
+        log.debug("WebSocket notification for user {} forwarded to {}", userId, node);
+    }
+}
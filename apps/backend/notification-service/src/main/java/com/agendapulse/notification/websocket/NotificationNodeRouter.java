@@ -0,0 +1,76 @@
+package com.agendapulse.notification.websocket;
+
+import com.agendapulse.common.routing.ConsistentHashRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tells which notification node holds a user's WebSocket. The gateway places connections with
+ * the same ring, built from the same discovery client over the same {@code host:port} node ids,
+ * so any node consuming an event can find the owner, also after nodes joined or left.
+ */
+@Component
+@Slf4j
+public class NotificationNodeRouter {
+
+    private final String self;
+    private final String serviceId;
+    private final DiscoveryClient discoveryClient;
+
+    private volatile ConsistentHashRing ring = ConsistentHashRing.of(List.of());
+
+    public NotificationNodeRouter(@Value("${notification.cluster.self:localhost:${server.port:8084}}") String self,
+                                  @Value("${spring.application.name:notification-service}") String serviceId,
+                                  DiscoveryClient discoveryClient) {
+        this.self = self;
+        this.serviceId = serviceId;
+        this.discoveryClient = discoveryClient;
+        refresh();
+    }
+
+    /**
+     * Rebuilds the ring when the discovered nodes changed.
+     */
+    @Scheduled(fixedDelayString = "${notification.cluster.refresh-interval:10s}")
+    public void refresh() {
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(serviceId);
+        } catch (RuntimeException e) {
+            log.warn("Discovery lookup for {} failed, keeping the current ring: {}", serviceId, e.getMessage());
+            return;
+        }
+        // Same node id as the gateway's DiscoveryHashRings.nodeId
+        Set<String> nodes = instances.stream()
+                .map(instance -> instance.getHost() + ":" + instance.getPort())
+                .collect(Collectors.toSet());
+        if (nodes.equals(Set.copyOf(ring.nodes()))) {
+            return;
+        }
+        ring = ConsistentHashRing.of(nodes);
+        log.info("Notification ring changed to {}", nodes);
+        if (!nodes.isEmpty() && !nodes.contains(self)) {
+            log.warn("Node {} is not part of the notification cluster {}", self, nodes);
+        }
+    }
+
+    /**
+     * @return The {@code host:port} of the node owning the user's connection.
+     */
+    public String ownerOf(String userId) {
+        String owner = ring.nodeFor(userId);
+        return owner != null ? owner : self;
+    }
+
+    public boolean isLocal(String userId) {
+        return self.equals(ownerOf(userId));
+    }
+}
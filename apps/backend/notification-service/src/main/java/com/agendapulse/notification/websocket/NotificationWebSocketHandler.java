@@ -1,19 +1,14 @@
 package com.agendapulse.notification.websocket;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.agendapulse.common.jwt.JwtVerifier;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
-import javax.crypto.SecretKey;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,17 +16,20 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
+    private static final String USER_ID_ATTRIBUTE = "userId";
+
     private final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
-    private final SecretKey key;
+    private final JwtVerifier jwtVerifier;
 
-    public NotificationWebSocketHandler(@Value("${jwt.secret}") String jwtSecret) {
-        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public NotificationWebSocketHandler(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         String userId = extractUserIdFromSession(session);
         if (userId != null) {
+            session.getAttributes().put(USER_ID_ATTRIBUTE, userId);
             userSessions.put(userId, session);
             log.info("WebSocket connection established for user: {}", userId);
 
@@ -45,9 +43,10 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        String userId = extractUserIdFromSession(session);
+        // The token may have expired since the handshake, so use the id verified on connect
+        String userId = (String) session.getAttributes().get(USER_ID_ATTRIBUTE);
         if (userId != null) {
-            userSessions.remove(userId);
+            userSessions.remove(userId, session);
             log.info("WebSocket connection closed for user: {}", userId);
         }
     }
@@ -79,6 +78,11 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    public boolean hasSession(String userId) {
+        WebSocketSession session = userSessions.get(userId);
+        return session != null && session.isOpen();
+    }
+
     public void broadcast(String message) {
         userSessions.values().parallelStream()
                 .filter(WebSocketSession::isOpen)
@@ -96,12 +100,7 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
             // Extract JWT token from query parameter or header
             String token = extractToken(session);
             if (token != null) {
-                Claims claims = Jwts.parser()
-                        .verifyWith(key)
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload();
-                return claims.getSubject();
+                return jwtVerifier.verify(token).userId();
             }
         } catch (Exception e) {
             log.error("Failed to extract user ID from session: {}", e.getMessage());
@@ -122,11 +121,6 @@ public class NotificationWebSocketHandler extends TextWebSocketHandler {
         }
 
         // Try to get token from header
-        String authHeader = session.getHandshakeHeaders().getFirst("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-
-        return null;
+        return JwtVerifier.bearerToken(session.getHandshakeHeaders().getFirst("Authorization"));
     }
 }
\ No newline at end of file
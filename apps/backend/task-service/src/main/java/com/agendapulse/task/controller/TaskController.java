@@ -1,15 +1,33 @@
 package com.agendapulse.task.controller;
 
+import com.agendapulse.common.model.imports.ImportProgressResponse;
+import com.agendapulse.common.model.page.CursorPage;
 import com.agendapulse.common.model.task.*;
 import com.agendapulse.task.domain.TaskStatus;
+import com.agendapulse.task.export.ExportFormat;
+import com.agendapulse.task.service.TaskImportService;
 import com.agendapulse.task.service.TaskService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -17,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
     
     private final TaskService taskService;
+    private final TaskImportService taskImportService;
     
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -34,6 +53,60 @@ public class TaskController {
         return taskService.getTasks(userId, status, pageable);
     }
     
+    @GetMapping("/scroll")
+    public CursorPage<TaskResponse> scrollTasks(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return taskService.scrollTasks(userId, status, cursor, size);
+    }
+    
+    /**
+     * Queues a CSV upload for import and answers right away; poll the returned location for progress.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportProgressResponse> importTasks(
+            @RequestHeader("X-User-Id") Long userId,
+            InputStream body) throws IOException {
+        ImportProgressResponse progress = taskImportService.startImport(userId, body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/tasks/import/" + progress.id()))
+                .body(progress);
+    }
+    
+    @GetMapping("/import/{importId}")
+    public ImportProgressResponse getImportProgress(
+            @PathVariable UUID importId,
+            @RequestHeader("X-User-Id") Long userId) {
+        return taskImportService.getProgress(importId, userId);
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.extension() + "\"")
+                .body(out -> taskService.exportTasks(userId, exportFormat, out));
+    }
+    
+    @GetMapping("/search")
+    public Slice<TaskResponse> searchTasks(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam("q") String text,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return taskService.searchTasks(userId, text, page, size);
+    }
+    
+    @GetMapping("/stats")
+    public TaskStatsResponse getStats(@RequestHeader("X-User-Id") Long userId) {
+        return taskService.getStats(userId);
+    }
+    
     @GetMapping("/{taskId}")
     public TaskResponse getTask(
             @PathVariable Long taskId,
@@ -56,4 +129,25 @@ public class TaskController {
             @RequestHeader("X-User-Id") Long userId) {
         taskService.deleteTask(taskId, userId);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/batch")
+    public List<TaskBatchItemResult> createTasks(
+            @RequestBody @Size(min = 1, max = TaskService.MAX_BATCH_SIZE) List<CreateTaskRequest> requests,
+            @RequestHeader("X-User-Id") Long userId) {
+        return taskService.createTasks(requests, userId);
+    }
+    
+    @PutMapping("/batch")
+    public List<TaskBatchItemResult> updateTasks(
+            @RequestBody @Size(min = 1, max = TaskService.MAX_BATCH_SIZE) List<BatchUpdateTaskRequest> requests,
+            @RequestHeader("X-User-Id") Long userId) {
+        return taskService.updateTasks(requests, userId);
+    }
+    
+    @DeleteMapping("/batch")
+    public List<TaskBatchItemResult> deleteTasks(
+            @RequestBody @Size(min = 1, max = TaskService.MAX_BATCH_SIZE) List<Long> taskIds,
+            @RequestHeader("X-User-Id") Long userId) {
+        return taskService.deleteTasks(taskIds, userId);
+    }
+}
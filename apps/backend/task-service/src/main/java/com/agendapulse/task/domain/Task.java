@@ -9,7 +9,15 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset pagination seeks on (user_id[, status], created_at, id) and reads the page straight off the index
+        @Index(name = "idx_tasks_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_tasks_user_status_created", columnList = "user_id, status, created_at, id"),
+        // The due-soon scheduler loads upcoming deadlines as a range scan on this one
+        @Index(name = "idx_tasks_due_date", columnList = "due_date, id"),
+        // Overdue counts range-scan the open statuses of one user up to now
+        @Index(name = "idx_tasks_user_status_due", columnList = "user_id, status, due_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,9 +25,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @Builder
 @EntityListeners(AuditingEntityListener.class)
 public class Task {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
     
+    // A pooled sequence hands out 50 ids per round trip and, unlike IDENTITY, lets Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = Task.ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
@@ -30,6 +42,10 @@ public class Task {
     
     @Column(name = "due_date")
     private LocalDateTime dueDate;
+
+    // Set once the due-soon event for the current due date went out, cleared when the due date changes
+    @Column(name = "due_soon_notified_at")
+    private LocalDateTime dueSoonNotifiedAt;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -46,4 +62,9 @@ public class Task {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Bumped on every update; the column default covers rows written before versioning
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
 }
@@ -0,0 +1,8 @@
+package com.agendapulse.task.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,85 @@
+package com.agendapulse.task.imports;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time, so a file of any size is parsed with one record in memory.
+ * Quoted fields may contain separators, doubled quotes and line breaks.
+ */
+public class CsvReader {
+
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final PushbackReader reader;
+    private boolean first = true;
+
+    public CsvReader(Reader reader) {
+        this.reader = new PushbackReader(reader, 1);
+    }
+
+    /**
+     * @return The fields of the next record, or null at the end of the input.
+     * @throws IllegalArgumentException if a quoted field is not closed or a record exceeds 1 MiB.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (first) {
+            first = false;
+            if (c == BYTE_ORDER_MARK) {
+                c = reader.read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("Record exceeds " + MAX_RECORD_LENGTH + " characters");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Quoted field is not closed");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = reader.read();
+                    if (next != '\n' && next != -1) {
+                        reader.unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -1,30 +1,71 @@
 package com.agendapulse.task.kafka;
 
+import com.agendapulse.common.event.ImportChunkEvent;
 import com.agendapulse.common.event.TaskEvent;
+import com.agendapulse.task.outbox.Outbox;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes task events to the outbox in the caller's transaction; {@link com.agendapulse.task.outbox.OutboxRelay}
+ * sends them to Kafka after commit.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TaskEventPublisher {
     
-    private final KafkaTemplate<String, TaskEvent> kafkaTemplate;
+    private static final Map<String, String> TOPICS = Map.of(
+            "TASK_CREATED", "task.created",
+            "TASK_UPDATED", "task.updated",
+            "TASK_COMPLETED", "task.completed",
+            "TASK_DELETED", "task.deleted",
+            "TASK_DUE_SOON", "task.due-soon");
+
+    private final Outbox outbox;
     
     public void publishTaskCreated(TaskEvent event) {
         log.info("Publishing task created event: {}", event);
-        kafkaTemplate.send("task.created", event);
+        outbox.append("task.created", key(event), event);
     }
     
     public void publishTaskUpdated(TaskEvent event) {
         log.info("Publishing task updated event: {}", event);
-        kafkaTemplate.send("task.updated", event);
+        outbox.append("task.updated", key(event), event);
     }
     
     public void publishTaskCompleted(TaskEvent event) {
         log.info("Publishing task completed event: {}", event);
-        kafkaTemplate.send("task.completed", event);
+        outbox.append("task.completed", key(event), event);
+    }
+    
+    public void publishTaskDeleted(TaskEvent event) {
+        log.info("Publishing task deleted event: {}", event);
+        outbox.append("task.deleted", key(event), event);
+    }
+
+    // Keyed by import so the chunk summaries of one import stay in order
+    public void publishTasksImported(ImportChunkEvent event) {
+        log.info("Publishing tasks imported event: {}", event);
+        outbox.append("task.imported", event.importId().toString(), event);
+    }
+
+    /**
+     * Publishes the events of a batch request with one batched outbox insert.
+     */
+    public void publishTaskEvents(List<TaskEvent> events) {
+        log.info("Publishing {} task events", events.size());
+        outbox.appendAll(events.stream()
+                .map(event -> outbox.toOutboxEvent(TOPICS.get(event.eventType()), key(event), event))
+                .toList());
+    }
+
+    // Keyed by task so all events of one task land on the same partition, in order
+    private static String key(TaskEvent event) {
+        return String.valueOf(event.taskId());
     }
 }
@@ -0,0 +1,66 @@
+package com.agendapulse.task.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Records events in the caller's transaction, so they are published if and only if it commits.
+ * Events are numbered when they are inserted, after the change they describe was written and its rows locked.
+ * A later change to the same task waits for that lock, so it can only draw a higher id once this transaction
+ * committed, and {@link OutboxRelay} publishes the events of one key in commit order.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+
+    private static final String INSERT = """
+            INSERT INTO outbox_events (id, topic, message_key, payload_type, payload, created_at)
+            VALUES (nextval('outbox_event_ids'), ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, Object event) {
+        appendAll(List.of(toOutboxEvent(topic, key, event)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<OutboxEvent> events) {
+        // Writes pending entity changes first, so their rows are locked before the events draw their ids
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.getTopic());
+            statement.setString(2, event.getMessageKey());
+            statement.setString(3, event.getPayloadType());
+            statement.setString(4, event.getPayload());
+            statement.setObject(5, event.getCreatedAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+
+    public OutboxEvent toOutboxEvent(String topic, String key, Object event) {
+        try {
+            return OutboxEvent.builder()
+                    .topic(topic)
+                    .messageKey(key)
+                    .payloadType(event.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .createdAt(Instant.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
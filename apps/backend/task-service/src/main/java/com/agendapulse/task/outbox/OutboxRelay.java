@@ -0,0 +1,138 @@
+package com.agendapulse.task.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to Kafka in id order. Each batch is sent without waiting per record, so the
+ * producer packs it into compressed batches, and rows are deleted only after the broker acknowledged
+ * them; whatever is left after a crash or broker outage is sent on the next run. Delivery is
+ * at-least-once: a failure re-sends the rest of its batch.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    // Advisory lock key, lets a single instance relay at a time so events leave in order
+    private static final long RELAY_LOCK = 0x6f7574626f78L;
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private final Timer relayDelay;
+    private final Counter relayed;
+    private final Counter failures;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.send-timeout:10s}") Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+
+        TimeGauge.builder("outbox.lag", oldestPendingMillis, TimeUnit.MILLISECONDS, this::lagMillis)
+                .description("Age of the oldest event still waiting in the outbox")
+                .register(meterRegistry);
+        this.relayDelay = Timer.builder("outbox.relay.delay")
+                .description("Time from writing an event to the outbox until the broker acknowledged it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.relayed = Counter.builder("outbox.relayed").register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:100ms}")
+    public void relay() {
+        Integer sent;
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+        } while (sent != null && sent == batchSize);
+    }
+
+    private int relayBatch() {
+        if (!outboxRepository.tryLock(RELAY_LOCK)) {
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        oldestPendingMillis.set(batch.isEmpty() ? 0 : batch.get(0).getCreatedAt().toEpochMilli());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaTemplate.send(event.getTopic(), event.getMessageKey(), payload(event)));
+        }
+        kafkaTemplate.flush();
+
+        // Acknowledged prefix only: stopping at the first failure keeps the order on the retry
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                failures.increment();
+                log.warn("Relaying outbox event {} to {} failed, retrying from there: {}", event.getId(), event.getTopic(), e.toString());
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            relayDelay.record(Duration.between(event.getCreatedAt(), Instant.now()));
+            acknowledged.add(event.getId());
+        }
+
+        outboxRepository.deleteAllByIdInBatch(acknowledged);
+        relayed.increment(acknowledged.size());
+        return acknowledged.size();
+    }
+
+    private Object payload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), Class.forName(event.getPayloadType()));
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not read outbox event " + event.getId(), e);
+        }
+    }
+
+    private double lagMillis(AtomicLong oldestPending) {
+        long oldest = oldestPending.get();
+        return oldest == 0 ? 0 : System.currentTimeMillis() - oldest;
+    }
+}
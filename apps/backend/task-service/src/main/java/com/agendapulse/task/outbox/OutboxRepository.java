@@ -0,0 +1,32 @@
+package com.agendapulse.task.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+
+    /**
+     * Transaction-scoped advisory lock, released at commit or rollback.
+     * @return false if another instance holds it.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLock(@Param("key") long key);
+
+    /**
+     * Moves the id sequence past the ids of events still waiting, which the former pooled sequence handed out.
+     * A no-op once the sequence is ahead, so it is safe to run on every start.
+     */
+    @Transactional
+    @Query(value = """
+            SELECT setval('outbox_event_ids', (SELECT MAX(id) FROM outbox_events))
+            WHERE (SELECT last_value FROM outbox_event_ids) < (SELECT COALESCE(MAX(id), 0) FROM outbox_events)
+            """, nativeQuery = true)
+    Long alignIdSequence();
+}
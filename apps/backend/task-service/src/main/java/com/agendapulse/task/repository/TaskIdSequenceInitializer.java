@@ -0,0 +1,27 @@
+package com.agendapulse.task.repository;
+
+import com.agendapulse.task.domain.Task;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aligns the task id sequence before the web server starts, so the first inserts after an upgrade never get ids
+ * that existing tasks already use.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private final TaskRepository taskRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Long value = taskRepository.alignIdSequence(Task.ID_ALLOCATION_SIZE);
+        if (value != null) {
+            log.info("Moved tasks_seq to {} past the existing task ids", value);
+        }
+    }
+}
@@ -2,13 +2,171 @@ package com.agendapulse.task.repository;
 
 import com.agendapulse.task.domain.Task;
 import com.agendapulse.task.domain.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
     Page<Task> findByUserId(Long userId, Pageable pageable);
     Page<Task> findByUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
     Optional<Task> findByIdAndUserId(Long id, Long userId);
+    List<Task> findByIdInAndUserId(Collection<Long> ids, Long userId);
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId AND t.status IN :statuses AND t.dueDate < :now")
+    long countOverdue(@Param("userId") Long userId,
+                      @Param("statuses") Collection<TaskStatus> statuses,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Applies the non-null fields in a single statement and returns the updated row.
+     * A changed due date clears the due-soon flag. With a {@code version}, only that version is updated.
+     * A status change moves the task between the user's {@code task_status_counts} in the same statement,
+     * since the previous status is not known outside of it. Count rows are written in status order, like
+     * everywhere else, so two opposite changes for one user cannot deadlock.
+     * @return Empty if no task of the user matches, or the version is stale.
+     */
+    @Query(value = """
+            WITH previous AS (
+                SELECT id, status FROM tasks
+                WHERE id = :id AND user_id = :userId AND (CAST(:version AS bigint) IS NULL OR version = :version)
+                FOR UPDATE),
+            updated AS (
+                UPDATE tasks SET
+                    title = COALESCE(CAST(:title AS varchar), tasks.title),
+                    description = COALESCE(CAST(:description AS text), tasks.description),
+                    due_soon_notified_at = CASE
+                        WHEN CAST(:dueDate AS timestamp) IS NOT NULL AND CAST(:dueDate AS timestamp) IS DISTINCT FROM tasks.due_date THEN NULL
+                        ELSE tasks.due_soon_notified_at END,
+                    due_date = COALESCE(CAST(:dueDate AS timestamp), tasks.due_date),
+                    status = COALESCE(CAST(:status AS varchar), tasks.status),
+                    updated_at = :now,
+                    version = tasks.version + 1
+                FROM previous
+                WHERE tasks.id = previous.id
+                RETURNING tasks.*, previous.status AS previous_status),
+            counted AS (
+                INSERT INTO task_status_counts (user_id, status, task_count)
+                SELECT updated.user_id, change.status, change.delta
+                FROM updated CROSS JOIN LATERAL (VALUES (updated.status, 1), (updated.previous_status, -1)) AS change(status, delta)
+                WHERE updated.status <> updated.previous_status
+                ORDER BY change.status COLLATE "C"
+                ON CONFLICT (user_id, status) DO UPDATE SET task_count = task_status_counts.task_count + EXCLUDED.task_count)
+            SELECT * FROM updated
+            """, nativeQuery = true)
+    Optional<Task> updateReturning(@Param("id") Long id,
+                                   @Param("userId") Long userId,
+                                   @Param("title") String title,
+                                   @Param("description") String description,
+                                   @Param("dueDate") LocalDateTime dueDate,
+                                   @Param("status") String status,
+                                   @Param("version") Long version,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes the task in a single statement and returns the deleted row, or empty if no task of the user matches.
+     */
+    @Query(value = """
+            WITH deleted AS (DELETE FROM tasks WHERE id = :id AND user_id = :userId RETURNING *)
+            SELECT * FROM deleted
+            """, nativeQuery = true)
+    Optional<Task> deleteReturning(@Param("id") Long id, @Param("userId") Long userId);
+
+    // Keyset pages, newest first. No OFFSET and no count query, so every page costs the same.
+    List<Task> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Limit limit);
+
+    List<Task> findByUserIdAndStatusOrderByCreatedAtDescIdDesc(Long userId, TaskStatus status, Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.createdAt, t.id) < (:createdAt, :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageAfter(@Param("userId") Long userId,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Limit limit);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.status = :status AND (t.createdAt, t.id) < (:createdAt, :id) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Task> findPageAfter(@Param("userId") Long userId,
+                             @Param("status") TaskStatus status,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Limit limit);
+
+    // Export chunks in creation order, streamed off a server-side cursor 500 rows at a time
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<Task> streamByUserIdOrderByCreatedAtAscIdAsc(Long userId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.createdAt, t.id) > (:createdAt, :id) " +
+           "ORDER BY t.createdAt, t.id")
+    Stream<Task> streamAfter(@Param("userId") Long userId,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Limit limit);
+
+    /**
+     * Open tasks not yet notified whose due date lies after the (dueDate, id) position and no later than {@code until},
+     * in due date order. Walks {@code idx_tasks_due_date}, so it only touches the rows it returns.
+     */
+    @Query("SELECT t FROM Task t WHERE (t.dueDate, t.id) > (:dueDate, :id) AND t.dueDate <= :until " +
+           "AND t.dueSoonNotifiedAt IS NULL AND t.status IN :statuses ORDER BY t.dueDate, t.id")
+    List<Task> findDueAfter(@Param("dueDate") LocalDateTime dueDate,
+                            @Param("id") Long id,
+                            @Param("until") LocalDateTime until,
+                            @Param("statuses") Collection<TaskStatus> statuses,
+                            Limit limit);
+
+    /**
+     * Claims the due-soon notification of a task, if it still has the due date it was scheduled for.
+     * @return 1 if this caller should send the notification, 0 if it is stale or another instance sent it.
+     */
+    @Modifying
+    @Query("UPDATE Task t SET t.dueSoonNotifiedAt = :now WHERE t.id = :id AND t.dueDate = :dueDate " +
+           "AND t.dueSoonNotifiedAt IS NULL AND t.status IN :statuses")
+    int markDueSoonNotified(@Param("id") Long id,
+                            @Param("dueDate") LocalDateTime dueDate,
+                            @Param("statuses") Collection<TaskStatus> statuses,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Ranked full-text search over the user's tasks, best match first, titles weighing more than descriptions.
+     * Matches come from the GIN index on {@code (user_id, search_vector)}, so only the user's matching rows are ranked.
+     * @param query A {@code to_tsquery} expression in the {@code simple} configuration.
+     */
+    @Query(value = """
+            SELECT t.* FROM tasks t
+            WHERE t.user_id = :userId AND t.search_vector @@ to_tsquery('simple', :query)
+            ORDER BY ts_rank(t.search_vector, to_tsquery('simple', :query)) DESC, t.id DESC
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Task> search(@Param("userId") Long userId,
+                      @Param("query") String query,
+                      @Param("limit") int limit,
+                      @Param("offset") long offset);
+
+    /**
+     * Moves the id sequence past ids that were handed out by the former IDENTITY column.
+     * A no-op once the sequence is ahead, so it is safe to run on every start.
+     */
+    @Transactional
+    @Query(value = """
+            SELECT setval('tasks_seq', (SELECT MAX(id) FROM tasks) + :allocationSize)
+            WHERE (SELECT last_value FROM tasks_seq) <= (SELECT COALESCE(MAX(id), 0) FROM tasks)
+            """, nativeQuery = true)
+    Long alignIdSequence(int allocationSize);
 }
\ No newline at end of file
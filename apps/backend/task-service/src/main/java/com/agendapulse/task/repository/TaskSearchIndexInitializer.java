@@ -0,0 +1,102 @@
+package com.agendapulse.task.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sets up full-text search on {@code tasks} without blocking writes, so it can run while the service takes traffic.
+ * <ul>
+ *     <li>The {@code search_vector} column is added without a default, which only touches the catalog, and is kept
+ *     current by a trigger rather than as a generated column, which would rewrite the table under an exclusive lock.</li>
+ *     <li>Existing rows get their vector in short batches that lock only the rows they update.</li>
+ *     <li>The {@code (user_id, search_vector)} GIN index is built {@code CONCURRENTLY}, outside a transaction.</li>
+ * </ul>
+ * Every step is a no-op once done. Tasks not backfilled yet are not found until their batch ran.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndexInitializer {
+
+    private static final int BACKFILL_BATCH_SIZE = 5_000;
+
+    private static final String VECTOR = """
+            setweight(to_tsvector('simple', coalesce(%1$s.title, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(%1$s.description, '')), 'B')""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndex() {
+        jdbcTemplate.execute("ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector");
+        // Databases set up before the trigger have a generated column, which keeps itself current
+        if (!isGenerated()) {
+            createTrigger();
+            backfill();
+        }
+        createIndex();
+        log.info("Task search index is in place");
+    }
+
+    private boolean isGenerated() {
+        List<String> generated = jdbcTemplate.queryForList("""
+                SELECT is_generated FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = 'tasks' AND column_name = 'search_vector'
+                """, String.class);
+        return generated.contains("ALWAYS");
+    }
+
+    private void createTrigger() {
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION tasks_search_vector() RETURNS trigger LANGUAGE plpgsql AS $$
+                BEGIN
+                    NEW.search_vector := %s;
+                    RETURN NEW;
+                END
+                $$""".formatted(VECTOR.formatted("NEW")));
+        // One statement string runs as one transaction, so no write slips in between drop and create
+        jdbcTemplate.execute("""
+                DROP TRIGGER IF EXISTS tasks_search_vector ON tasks;
+                CREATE TRIGGER tasks_search_vector BEFORE INSERT OR UPDATE OF title, description ON tasks
+                    FOR EACH ROW EXECUTE FUNCTION tasks_search_vector()
+                """);
+    }
+
+    private void backfill() {
+        String update = """
+                UPDATE tasks SET search_vector = %s
+                WHERE id IN (SELECT id FROM tasks WHERE search_vector IS NULL LIMIT %d FOR UPDATE SKIP LOCKED)
+                """.formatted(VECTOR.formatted("tasks"), BACKFILL_BATCH_SIZE);
+        long filled = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(update);
+            filled += updated;
+        } while (updated > 0);
+        if (filled > 0) {
+            log.info("Computed the search vector of {} existing tasks", filled);
+        }
+    }
+
+    private void createIndex() {
+        // btree_gin lets one GIN index hold user_id next to the vector, so a search only visits the user's matches
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gin");
+        // An interrupted concurrent build leaves an invalid index behind that IF NOT EXISTS would keep
+        jdbcTemplate.execute("""
+                DO $$
+                BEGIN
+                    IF EXISTS (SELECT 1 FROM pg_index WHERE indexrelid = to_regclass('idx_tasks_user_search') AND NOT indisvalid) THEN
+                        DROP INDEX idx_tasks_user_search;
+                    END IF;
+                END
+                $$""");
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_search ON tasks USING GIN (user_id, search_vector)");
+        jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_search");
+    }
+}
@@ -0,0 +1,10 @@
+package com.agendapulse.task.scheduling;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pending due-soon notification. The due date is part of it, so a deadline scheduled before the
+ * task was moved no longer matches the task and is dropped.
+ */
+record Deadline(Long taskId, LocalDateTime dueDate, long fireAtMillis) {
+}
@@ -0,0 +1,57 @@
+package com.agendapulse.task.scheduling;
+
+import com.agendapulse.common.event.TaskEvent;
+import com.agendapulse.common.event.TaskEventData;
+import com.agendapulse.task.domain.Task;
+import com.agendapulse.task.kafka.TaskEventPublisher;
+import com.agendapulse.task.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+class DueSoonNotifier {
+
+    private final TaskRepository taskRepository;
+    private final TaskEventPublisher eventPublisher;
+
+    /**
+     * Claims each deadline with a conditional update and publishes TASK_DUE_SOON for the ones this
+     * instance won, so every instance may fire the same deadline but only one event goes out.
+     * @return The number of events published.
+     */
+    @Transactional
+    public int notifyDueSoon(List<Deadline> deadlines) {
+        Map<Long, Task> tasks = taskRepository.findAllById(deadlines.stream().map(Deadline::taskId).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEvent> events = new ArrayList<>();
+        for (Deadline deadline : deadlines) {
+            Task task = tasks.get(deadline.taskId());
+            if (task == null
+                    || taskRepository.markDueSoonNotified(task.getId(), deadline.dueDate(), DueSoonScheduler.OPEN_STATUSES, now) == 0) {
+                continue;
+            }
+            TaskEventData eventData = new TaskEventData(
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getDueDate(),
+                    com.agendapulse.common.model.task.TaskStatus.valueOf(task.getStatus().name())
+            );
+            events.add(TaskEvent.dueSoon(task.getId(), task.getUserId(), eventData));
+        }
+        if (!events.isEmpty()) {
+            eventPublisher.publishTaskEvents(events);
+        }
+        return events.size();
+    }
+}
@@ -0,0 +1,206 @@
+package com.agendapulse.task.scheduling;
+
+import com.agendapulse.task.domain.Task;
+import com.agendapulse.task.domain.TaskStatus;
+import com.agendapulse.task.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes TASK_DUE_SOON {@code lead-time} before a task is due.
+ * Only deadlines firing within the next {@code window} are held in memory, in a {@link TimingWheel}
+ * ticking every {@code tick}. The window is extended every {@code load-interval} with a range scan on
+ * {@code due_date} that starts where the previous one ended, so the table is never scanned as a whole.
+ * Changes made through {@link com.agendapulse.task.service.TaskService} are applied after commit; changes
+ * made on other instances are caught when firing, because the claim requires the due date it was scheduled for.
+ */
+@Component
+@Slf4j
+public class DueSoonScheduler implements DisposableBean {
+
+    public static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final TaskRepository taskRepository;
+    private final DueSoonNotifier notifier;
+    private final Duration leadTime;
+    private final Duration window;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private final TimingWheel<Deadline> wheel;
+    private final Map<Long, Deadline> scheduled = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService firing;
+
+    private final Timer fireLag;
+    private final Counter published;
+
+    // Every open task due up to here is either in the wheel or was notified already
+    private volatile LocalDateTime loadedUntil;
+
+    public DueSoonScheduler(TaskRepository taskRepository,
+                            DueSoonNotifier notifier,
+                            MeterRegistry meterRegistry,
+                            @Value("${tasks.due-soon.lead-time:1h}") Duration leadTime,
+                            @Value("${tasks.due-soon.window:10m}") Duration window,
+                            @Value("${tasks.due-soon.tick:100ms}") Duration tick) {
+        this.taskRepository = taskRepository;
+        this.notifier = notifier;
+        this.leadTime = leadTime;
+        this.window = window;
+
+        long tickMillis = tick.toMillis();
+        this.wheel = new TimingWheel<>(tickMillis, (int) Math.max(1, window.toMillis() / tickMillis), clock.millis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("due-soon-wheel").daemon().factory());
+        this.firing = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("due-soon-notifier").daemon().factory());
+
+        Gauge.builder("tasks.due-soon.scheduled", scheduled, Map::size)
+                .description("Due-soon notifications waiting in the timing wheel")
+                .register(meterRegistry);
+        this.fireLag = Timer.builder("tasks.due-soon.fire.lag")
+                .description("How late a due-soon deadline was taken off the wheel")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("tasks.due-soon.published").register(meterRegistry);
+
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Extends the loaded range up to {@code now + lead-time + window}, in keyset batches along {@code idx_tasks_due_date}.
+     */
+    @Scheduled(fixedDelayString = "${tasks.due-soon.load-interval:1m}")
+    public synchronized void load() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean fromNow = loadedUntil == null || loadedUntil.isBefore(now);
+        // The previous scan included tasks due exactly at loadedUntil; a scan starting now has to include those due now
+        LocalDateTime afterDueDate = fromNow ? now : loadedUntil;
+        long afterId = fromNow ? Long.MIN_VALUE : Long.MAX_VALUE;
+        LocalDateTime until = now.plus(leadTime).plus(window);
+        // Published before querying: a task moved into the range while the query runs is scheduled by taskSaved
+        loadedUntil = until;
+
+        int loaded = 0;
+        List<Task> batch;
+        do {
+            batch = taskRepository.findDueAfter(afterDueDate, afterId, until, OPEN_STATUSES, Limit.of(LOAD_BATCH_SIZE));
+            for (Task task : batch) {
+                schedule(task.getId(), task.getDueDate());
+                afterDueDate = task.getDueDate();
+                afterId = task.getId();
+            }
+            loaded += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        if (loaded > 0) {
+            log.debug("Loaded {} due-soon deadlines for tasks due until {}", loaded, until);
+        }
+    }
+
+    /**
+     * Reschedules or drops the task's deadline once the current transaction commits.
+     */
+    public void taskSaved(Task task) {
+        Long taskId = task.getId();
+        LocalDateTime dueDate = task.getDueDate();
+        boolean pending = OPEN_STATUSES.contains(task.getStatus()) && task.getDueSoonNotifiedAt() == null;
+        afterCommit(() -> {
+            LocalDateTime until = loadedUntil;
+            if (pending && dueDate != null && until != null
+                    && dueDate.isAfter(LocalDateTime.now(clock)) && !dueDate.isAfter(until)) {
+                schedule(taskId, dueDate);
+            } else {
+                // Due beyond the loaded range: a later load picks it up
+                scheduled.remove(taskId);
+            }
+        });
+    }
+
+    public void taskDeleted(Long taskId) {
+        afterCommit(() -> scheduled.remove(taskId));
+    }
+
+    private void schedule(Long taskId, LocalDateTime dueDate) {
+        long fireAtMillis = dueDate.atZone(clock.getZone()).toInstant().toEpochMilli() - leadTime.toMillis();
+        Deadline deadline = new Deadline(taskId, dueDate, fireAtMillis);
+        scheduled.put(taskId, deadline);
+        wheel.schedule(deadline, fireAtMillis);
+    }
+
+    private void tick() {
+        try {
+            long now = clock.millis();
+            List<Deadline> due = new ArrayList<>();
+            wheel.advance(now, deadline -> {
+                // Superseded or cancelled deadlines are no longer the mapped value
+                if (scheduled.remove(deadline.taskId(), deadline)) {
+                    fireLag.record(Math.max(0, now - deadline.fireAtMillis()), TimeUnit.MILLISECONDS);
+                    due.add(deadline);
+                }
+            });
+            if (!due.isEmpty()) {
+                firing.execute(() -> fire(due));
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate schedule
+            log.error("Due-soon tick failed", e);
+        }
+    }
+
+    private void fire(List<Deadline> due) {
+        try {
+            published.increment(notifier.notifyDueSoon(due));
+        } catch (RuntimeException e) {
+            log.warn("Publishing {} due-soon events failed, retrying in {}: {}", due.size(), RETRY_DELAY, e.toString());
+            long retryAt = clock.millis() + RETRY_DELAY.toMillis();
+            for (Deadline deadline : due) {
+                if (scheduled.putIfAbsent(deadline.taskId(), deadline) == null) {
+                    wheel.schedule(deadline, retryAt);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        firing.shutdown();
+    }
+}
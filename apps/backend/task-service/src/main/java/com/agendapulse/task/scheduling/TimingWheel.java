@@ -0,0 +1,76 @@
+package com.agendapulse.task.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: deadlines are bucketed by tick, so scheduling is O(1) and each tick only
+ * looks at one slot instead of every pending deadline. Deadlines further out than one turn stay in
+ * their slot until the wheel comes around to their tick.
+ * Any thread may {@link #schedule}; {@link #advance} must always be called from the same thread.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<Node<T>>[] slots;
+    private final Queue<Node<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int slotCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        pending.add(new Node<>(item, deadlineMillis / tickMillis));
+        size.incrementAndGet();
+    }
+
+    /**
+     * Hands every item whose deadline is at or before {@code nowMillis} to {@code expired}, in tick order.
+     * Items scheduled for a tick an earlier call already processed are moved to the next tick, so they expire
+     * on the first call that reaches it rather than on this one.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        for (Node<T> node; (node = pending.poll()) != null; ) {
+            long tick = Math.max(node.tick, nextTick);
+            slots[(int) (tick % slots.length)].add(new Node<>(node.item, tick));
+        }
+
+        long currentTick = nowMillis / tickMillis;
+        for (; nextTick <= currentTick; nextTick++) {
+            long tick = nextTick;
+            List<Node<T>> slot = slots[(int) (tick % slots.length)];
+            if (!slot.isEmpty()) {
+                slot.removeIf(node -> {
+                    if (node.tick > tick) {
+                        return false;
+                    }
+                    size.decrementAndGet();
+                    expired.accept(node.item);
+                    return true;
+                });
+            }
+        }
+    }
+
+    /**
+     * @return Items scheduled and not expired yet, including ones that were cancelled by their owner.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private record Node<T>(T item, long tick) {
+    }
+}
@@ -0,0 +1,339 @@
+package com.agendapulse.task.service;
+
+import com.agendapulse.common.event.ImportChunkEvent;
+import com.agendapulse.common.model.imports.ImportProgressResponse;
+import com.agendapulse.common.model.imports.ImportStatus;
+import com.agendapulse.common.model.task.CreateTaskRequest;
+import com.agendapulse.task.domain.Task;
+import com.agendapulse.task.domain.TaskStatus;
+import com.agendapulse.task.exception.ResourceNotFoundException;
+import com.agendapulse.task.imports.CsvReader;
+import com.agendapulse.task.imports.ImportJob;
+import com.agendapulse.task.imports.ImportJobRepository;
+import com.agendapulse.task.kafka.TaskEventPublisher;
+import com.agendapulse.task.repository.TaskRepository;
+import com.agendapulse.task.scheduling.DueSoonScheduler;
+import com.agendapulse.task.stats.TaskStats;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of tasks from CSV. The upload is spooled to a temporary file and answered with 202 right away;
+ * a worker then parses it one record at a time and commits every {@code CHUNK_SIZE} rows in one transaction:
+ * the tasks as JDBC batches, one {@link ImportChunkEvent} and the job's progress. Memory therefore stays
+ * bounded by one chunk whatever the file size, and clients poll the job for progress.
+ * The header row names the columns: {@code title} is required, {@code description}, {@code dueDate}
+ * and {@code status} are optional and other columns are ignored, so a CSV export can be imported as is.
+ */
+@Service
+@Slf4j
+public class TaskImportService implements DisposableBean {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<ImportStatus> ACTIVE = List.of(ImportStatus.PENDING, ImportStatus.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final TaskRepository taskRepository;
+    private final TaskEventPublisher eventPublisher;
+    private final DueSoonScheduler dueSoonScheduler;
+    private final TaskStats taskStats;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxSizeBytes;
+    private final Duration abandonedAfter;
+    private final ThreadPoolExecutor workers;
+
+    public TaskImportService(ImportJobRepository importJobRepository,
+                             TaskRepository taskRepository,
+                             TaskEventPublisher eventPublisher,
+                             DueSoonScheduler dueSoonScheduler,
+                             TaskStats taskStats,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${tasks.import.max-size:1GB}") DataSize maxSize,
+                             @Value("${tasks.import.concurrency:2}") int concurrency,
+                             @Value("${tasks.import.queue-capacity:20}") int queueCapacity,
+                             @Value("${tasks.import.abandoned-after:1h}") Duration abandonedAfter) {
+        this.importJobRepository = importJobRepository;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.dueSoonScheduler = dueSoonScheduler;
+        this.taskStats = taskStats;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxSizeBytes = maxSize.toBytes();
+        this.abandonedAfter = abandonedAfter;
+        this.workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "task-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Spools the upload and queues it for import.
+     * @throws IllegalArgumentException if the upload exceeds {@code max-size}.
+     * @throws ResponseStatusException with 503 if too many imports are queued.
+     */
+    public ImportProgressResponse startImport(Long userId, InputStream body) throws IOException {
+        Path file = spool(body);
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .status(ImportStatus.PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try {
+            workers.execute(() -> run(job.getId(), userId, file));
+        } catch (RejectedExecutionException e) {
+            delete(file);
+            importJobRepository.transition(job.getId(), ACTIVE, ImportStatus.FAILED, "Too many imports in progress", LocalDateTime.now());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports in progress, try again later");
+        }
+        return toResponse(job);
+    }
+
+    public ImportProgressResponse getProgress(UUID importId, Long userId) {
+        return importJobRepository.findByIdAndUserId(importId, userId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found"));
+    }
+
+    /**
+     * Fails jobs without progress for {@code abandoned-after}, left behind by an instance that stopped mid-import.
+     */
+    @Scheduled(fixedDelayString = "${tasks.import.abandoned-check-interval:5m}")
+    public void failAbandoned() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = importJobRepository.transitionStale(ACTIVE, ImportStatus.FAILED, "Import was interrupted",
+                now.minus(abandonedAfter), now);
+        if (failed > 0) {
+            log.warn("Marked {} abandoned imports as failed", failed);
+        }
+    }
+
+    private void run(UUID importId, Long userId, Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (importJobRepository.transition(importId, List.of(ImportStatus.PENDING), ImportStatus.RUNNING, null, LocalDateTime.now()) == 0) {
+                return;
+            }
+            CsvReader csv = new CsvReader(reader);
+            Map<String, Integer> columns = columns(csv.readRecord());
+
+            // Record 1 is the header
+            long recordNumber = 1;
+            int chunk = 0;
+            List<List<String>> records = new ArrayList<>(CHUNK_SIZE);
+            List<Long> recordNumbers = new ArrayList<>(CHUNK_SIZE);
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                recordNumber++;
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                records.add(record);
+                recordNumbers.add(recordNumber);
+                if (records.size() == CHUNK_SIZE) {
+                    importChunk(importId, userId, chunk++, columns, records, recordNumbers);
+                    records.clear();
+                    recordNumbers.clear();
+                }
+            }
+            if (!records.isEmpty()) {
+                importChunk(importId, userId, chunk, columns, records, recordNumbers);
+            }
+            importJobRepository.transition(importId, List.of(ImportStatus.RUNNING), ImportStatus.COMPLETED, null, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Import {} failed", importId, e);
+            String reason = e instanceof IllegalArgumentException ? e.getMessage() : "Import failed unexpectedly";
+            importJobRepository.transition(importId, ACTIVE, ImportStatus.FAILED, reason, LocalDateTime.now());
+        } finally {
+            delete(file);
+        }
+    }
+
+    private void importChunk(UUID importId, Long userId, int chunk, Map<String, Integer> columns,
+                             List<List<String>> records, List<Long> recordNumbers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Task> tasks = new ArrayList<>(records.size());
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < records.size(); i++) {
+                List<String> record = records.get(i);
+                try {
+                    CreateTaskRequest request = new CreateTaskRequest(
+                            field(record, columns, "title"),
+                            field(record, columns, "description"),
+                            parseDueDate(field(record, columns, "duedate")));
+                    Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(request);
+                    if (!violations.isEmpty()) {
+                        throw new IllegalArgumentException(violations.iterator().next().getMessage());
+                    }
+                    tasks.add(Task.builder()
+                            .title(request.title())
+                            .description(request.description())
+                            .dueDate(request.dueDate())
+                            .status(parseStatus(field(record, columns, "status")))
+                            .userId(userId)
+                            .build());
+                } catch (IllegalArgumentException e) {
+                    errors.add("Row " + recordNumbers.get(i) + ": " + e.getMessage());
+                }
+            }
+
+            List<Task> savedTasks = taskRepository.saveAll(tasks);
+            savedTasks.forEach(dueSoonScheduler::taskSaved);
+            taskStats.tasksChanged(userId, List.of(), savedTasks.stream().map(Task::getStatus).toList());
+            eventPublisher.publishTasksImported(
+                    ImportChunkEvent.tasksImported(importId, userId, chunk, savedTasks.size(), errors.size()));
+
+            ImportJob job = importJobRepository.findById(importId).orElseThrow();
+            job.setRowsRead(job.getRowsRead() + records.size());
+            job.setRowsImported(job.getRowsImported() + savedTasks.size());
+            job.setRowsFailed(job.getRowsFailed() + errors.size());
+            job.setErrors(appendErrors(job.getErrors(), errors));
+            job.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("The header has no title column");
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static LocalDateTime parseDueDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid due date " + value);
+        }
+    }
+
+    private static TaskStatus parseStatus(String value) {
+        if (value == null) {
+            return TaskStatus.TODO;
+        }
+        try {
+            return TaskStatus.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status " + value);
+        }
+    }
+
+    private static String appendErrors(String stored, List<String> errors) {
+        List<String> all = new ArrayList<>(stored == null ? List.of() : Arrays.asList(stored.split("\n")));
+        for (String error : errors) {
+            if (all.size() >= MAX_REPORTED_ERRORS) {
+                break;
+            }
+            // Errors quote the offending value, which may span lines
+            all.add(error.replace('\n', ' ').replace('\r', ' '));
+        }
+        return all.isEmpty() ? null : String.join("\n", all);
+    }
+
+    // Copies the upload to disk in fixed-size buffers, so the request never holds more than one in memory
+    private Path spool(InputStream body) throws IOException {
+        Path file = Files.createTempFile("task-import-", ".csv");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxSizeBytes) {
+                    throw new IllegalArgumentException("Import exceeds " + DataSize.ofBytes(maxSizeBytes).toMegabytes() + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    private ImportProgressResponse toResponse(ImportJob job) {
+        return new ImportProgressResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getRowsRead(),
+                job.getRowsImported(),
+                job.getRowsFailed(),
+                job.getErrors() == null ? List.of() : List.of(job.getErrors().split("\n")),
+                job.getFailureReason(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+}
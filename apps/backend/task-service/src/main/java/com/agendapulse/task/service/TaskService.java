@@ -2,23 +2,72 @@ package com.agendapulse.task.service;
 
 import com.agendapulse.common.event.TaskEvent;
 import com.agendapulse.common.event.TaskEventData;
+import com.agendapulse.common.model.page.CursorPage;
+import com.agendapulse.common.model.page.PageCursor;
 import com.agendapulse.common.model.task.*;
 import com.agendapulse.task.domain.Task;
 import com.agendapulse.task.domain.TaskStatus;
+import com.agendapulse.task.exception.ResourceNotFoundException;
 import com.agendapulse.task.kafka.TaskEventPublisher;
 import com.agendapulse.task.repository.TaskRepository;
+import com.agendapulse.task.scheduling.DueSoonScheduler;
+import com.agendapulse.task.stats.TaskStats;
+import com.agendapulse.task.export.ExportFormat;
+import com.agendapulse.task.export.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class TaskService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int MAX_SEARCH_TERMS = 10;
+    private static final int EXPORT_CHUNK_SIZE = 10_000;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String STALE_VERSION = "Task was changed by someone else, reload it and try again";
     
     private final TaskRepository taskRepository;
     private final TaskEventPublisher eventPublisher;
+    private final Validator validator;
+    private final DueSoonScheduler dueSoonScheduler;
+    private final TaskStats taskStats;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
     
     @Transactional
     public TaskResponse createTask(CreateTaskRequest request, Long userId) {
@@ -31,6 +80,8 @@ public class TaskService {
                 .build();
         
         Task savedTask = taskRepository.save(task);
+        dueSoonScheduler.taskSaved(savedTask);
+        taskStats.tasksChanged(userId, List.of(), List.of(savedTask.getStatus()));
         
         // Publish event
         TaskEventData eventData = new TaskEventData(
@@ -44,37 +95,32 @@ public class TaskService {
         return toResponse(savedTask);
     }
     
+    /**
+     * Updates the task with one conditional UPDATE ... RETURNING instead of a SELECT followed by an UPDATE.
+     * @throws ResourceNotFoundException if the user has no such task.
+     * @throws OptimisticLockingFailureException if {@code request.version()} is set and no longer current.
+     */
     @Transactional
     public TaskResponse updateTask(Long taskId, UpdateTaskRequest request, Long userId) {
-        Task task = taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-        
-        if (request.title() != null) {
-            task.setTitle(request.title());
-        }
-        if (request.description() != null) {
-            task.setDescription(request.description());
-        }
-        if (request.dueDate() != null) {
-            task.setDueDate(request.dueDate());
-        }
-        if (request.status() != null) {
-            task.setStatus(TaskStatus.valueOf(request.status().name()));
-            
-            // Publish completed event if status changed to COMPLETED
-            if (request.status() == com.agendapulse.common.model.task.TaskStatus.COMPLETED) {
-                TaskEventData eventData = new TaskEventData(
-                        task.getTitle(),
-                        task.getDescription(),
-                        task.getDueDate(),
-                        com.agendapulse.common.model.task.TaskStatus.COMPLETED
-                );
-                eventPublisher.publishTaskCompleted(TaskEvent.completed(task.getId(), userId, eventData));
-            }
+        Task updatedTask = taskRepository.updateReturning(
+                        taskId,
+                        userId,
+                        request.title(),
+                        request.description(),
+                        request.dueDate(),
+                        request.status() != null ? request.status().name() : null,
+                        request.version(),
+                        LocalDateTime.now())
+                .orElseThrow(() -> updateMiss(taskId, userId));
+        dueSoonScheduler.taskSaved(updatedTask);
+        // The status counts moved in the UPDATE itself; the due date may have changed the overdue count
+        taskStats.evictAfterCommit(userId);
+
+        // Publish completed event if status changed to COMPLETED
+        if (request.status() == com.agendapulse.common.model.task.TaskStatus.COMPLETED) {
+            eventPublisher.publishTaskCompleted(TaskEvent.completed(updatedTask.getId(), userId, eventData(updatedTask)));
         }
         
-        Task updatedTask = taskRepository.save(task);
-        
         // Publish update event
         TaskEventData eventData = new TaskEventData(
                 updatedTask.getTitle(),
@@ -96,18 +142,296 @@ public class TaskService {
         return tasks.map(this::toResponse);
     }
     
+    /**
+     * Keyset-paginated listing, newest first. Reads one row past the page to know whether another page follows.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> scrollTasks(Long userId, TaskStatus status, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<Task> tasks;
+        if (cursor == null) {
+            tasks = status != null
+                    ? taskRepository.findByUserIdAndStatusOrderByCreatedAtDescIdDesc(userId, status, limit)
+                    : taskRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            tasks = status != null
+                    ? taskRepository.findPageAfter(userId, status, after.sortKey(), after.id(), limit)
+                    : taskRepository.findPageAfter(userId, after.sortKey(), after.id(), limit);
+        }
+
+        boolean hasNext = tasks.size() > size;
+        List<Task> page = hasNext ? tasks.subList(0, size) : tasks;
+        Task last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String nextCursor = hasNext ? new PageCursor(last.getCreatedAt(), last.getId()).encode() : null;
+        return new CursorPage<>(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+    
+    /**
+     * Streams all of the user's tasks in creation order into {@code out}.
+     * Rows come off a server-side cursor and are serialized and detached one at a time, so memory stays at one
+     * chunk however many tasks there are. Each chunk of {@code EXPORT_CHUNK_SIZE} rows is read in its own short
+     * read-only transaction and continues where the previous one ended, so no snapshot stays open for the
+     * whole export. A chunk is sent to the client only after its transaction ended, so a slow client does not
+     * hold a pooled connection. Rows changed during the export show up as of the chunk that read them.
+     */
+    public void exportTasks(Long userId, ExportFormat format, OutputStream out) {
+        ExportWriter<TaskResponse> writer = new ExportWriter<>(format, TaskResponse.class, objectMapper, out);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Task[] last = new Task[1];
+        int read;
+        do {
+            read = readOnly.execute(status -> {
+                Limit limit = Limit.of(EXPORT_CHUNK_SIZE);
+                try (Stream<Task> tasks = last[0] == null
+                        ? taskRepository.streamByUserIdOrderByCreatedAtAscIdAsc(userId, limit)
+                        : taskRepository.streamAfter(userId, last[0].getCreatedAt(), last[0].getId(), limit)) {
+                    int count = 0;
+                    for (Task task : (Iterable<Task>) tasks::iterator) {
+                        writer.write(toResponse(task));
+                        entityManager.detach(task);
+                        last[0] = task;
+                        count++;
+                    }
+                    return count;
+                }
+            });
+            writer.flush();
+        } while (read == EXPORT_CHUNK_SIZE);
+    }
+    
+    /**
+     * Task counts per status plus the overdue count, served from memory on repeat calls.
+     */
+    public TaskStatsResponse getStats(Long userId) {
+        return taskStats.get(userId);
+    }
+    
+    /**
+     * Ranked full-text search over titles and descriptions. Every word of {@code text} has to match,
+     * the last one also as a prefix, so results narrow down while the user types.
+     * Reads one row past the page to know whether another page follows.
+     */
+    @Transactional(readOnly = true)
+    public Slice<TaskResponse> searchTasks(Long userId, String text, int page, int size) {
+        List<Task> tasks = taskRepository.search(userId, toPrefixQuery(text), size + 1, (long) page * size);
+        boolean hasNext = tasks.size() > size;
+        List<TaskResponse> content = (hasNext ? tasks.subList(0, size) : tasks).stream().map(this::toResponse).toList();
+        return new SliceImpl<>(content, PageRequest.of(page, size), hasNext);
+    }
+    
     @Transactional(readOnly = true)
     public TaskResponse getTask(Long taskId, Long userId) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
         return toResponse(task);
     }
     
+    /**
+     * Deletes the task with one DELETE ... RETURNING, which also yields the data for the event.
+     * @throws ResourceNotFoundException if the user has no such task.
+     */
     @Transactional
     public void deleteTask(Long taskId, Long userId) {
-        Task task = taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
-        taskRepository.delete(task);
+        Task task = taskRepository.deleteReturning(taskId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        dueSoonScheduler.taskDeleted(task.getId());
+        taskStats.tasksChanged(userId, List.of(task.getStatus()), List.of());
+        
+        TaskEventData eventData = new TaskEventData(
+                task.getTitle(),
+                task.getDescription(),
+                task.getDueDate(),
+                com.agendapulse.common.model.task.TaskStatus.valueOf(task.getStatus().name())
+        );
+        eventPublisher.publishTaskDeleted(TaskEvent.deleted(task.getId(), userId, eventData));
+    }
+    
+    /**
+     * Creates the valid items of a batch in one transaction. Ids come from the pooled sequence,
+     * so the inserts are sent to the database as JDBC batches at commit.
+     */
+    @Transactional
+    public List<TaskBatchItemResult> createTasks(List<CreateTaskRequest> requests, Long userId) {
+        TaskBatchItemResult[] results = new TaskBatchItemResult[requests.size()];
+        List<Task> tasks = new ArrayList<>(requests.size());
+        List<Integer> indexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest request = requests.get(i);
+            String error = validationError(request);
+            if (error != null) {
+                results[i] = TaskBatchItemResult.failed(i, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+            tasks.add(Task.builder()
+                    .title(request.title())
+                    .description(request.description())
+                    .dueDate(request.dueDate())
+                    .status(TaskStatus.TODO)
+                    .userId(userId)
+                    .build());
+            indexes.add(i);
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        savedTasks.forEach(dueSoonScheduler::taskSaved);
+        taskStats.tasksChanged(userId, List.of(), savedTasks.stream().map(Task::getStatus).toList());
+        List<TaskEvent> events = new ArrayList<>(savedTasks.size());
+        for (int j = 0; j < savedTasks.size(); j++) {
+            Task task = savedTasks.get(j);
+            int index = indexes.get(j);
+            results[index] = TaskBatchItemResult.succeeded(index, HttpStatus.CREATED.value(), toResponse(task));
+            events.add(TaskEvent.created(task.getId(), userId, eventData(task)));
+        }
+        eventPublisher.publishTaskEvents(events);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Loads all tasks of the batch with one query and flushes the changes as JDBC batches.
+     */
+    @Transactional
+    public List<TaskBatchItemResult> updateTasks(List<BatchUpdateTaskRequest> requests, Long userId) {
+        Map<Long, Task> tasks = findOwned(requests.stream().filter(Objects::nonNull).map(BatchUpdateTaskRequest::id).toList(), userId);
+
+        TaskBatchItemResult[] results = new TaskBatchItemResult[requests.size()];
+        Map<Integer, Task> updated = new LinkedHashMap<>();
+        List<TaskStatus> previousStatuses = new ArrayList<>();
+        List<TaskEvent> events = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BatchUpdateTaskRequest request = requests.get(i);
+            String error = validationError(request);
+            if (error != null) {
+                results[i] = TaskBatchItemResult.failed(i, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+            Task task = tasks.get(request.id());
+            if (task == null) {
+                results[i] = TaskBatchItemResult.failed(i, HttpStatus.NOT_FOUND.value(), "Task not found");
+                continue;
+            }
+            if (request.version() != null && !request.version().equals(task.getVersion())) {
+                results[i] = TaskBatchItemResult.failed(i, HttpStatus.CONFLICT.value(), STALE_VERSION);
+                continue;
+            }
+            previousStatuses.add(task.getStatus());
+            applyChanges(task, request.title(), request.description(), request.dueDate(), request.status());
+            if (request.status() == com.agendapulse.common.model.task.TaskStatus.COMPLETED) {
+                events.add(TaskEvent.completed(task.getId(), userId, eventData(task)));
+            }
+            updated.put(i, task);
+        }
+
+        // Runs the batched UPDATEs now so the responses carry the new updatedAt
+        taskRepository.flush();
+        taskStats.tasksChanged(userId, previousStatuses, updated.values().stream().map(Task::getStatus).toList());
+        updated.forEach((index, task) -> {
+            dueSoonScheduler.taskSaved(task);
+            results[index] = TaskBatchItemResult.succeeded(index, HttpStatus.OK.value(), toResponse(task));
+            events.add(TaskEvent.updated(task.getId(), userId, eventData(task)));
+        });
+        eventPublisher.publishTaskEvents(events);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Deletes the user's tasks among the given ids with a single statement.
+     */
+    @Transactional
+    public List<TaskBatchItemResult> deleteTasks(List<Long> taskIds, Long userId) {
+        Map<Long, Task> tasks = findOwned(taskIds.stream().filter(Objects::nonNull).toList(), userId);
+
+        TaskBatchItemResult[] results = new TaskBatchItemResult[taskIds.size()];
+        List<Task> deleted = new ArrayList<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            if (taskId == null) {
+                results[i] = TaskBatchItemResult.failed(i, HttpStatus.BAD_REQUEST.value(), "Task id is required");
+                continue;
+            }
+            // Removing the task means a repeated id in the same batch is reported as not found
+            Task task = tasks.remove(taskId);
+            if (task == null) {
+                results[i] = TaskBatchItemResult.failed(i, HttpStatus.NOT_FOUND.value(), "Task not found");
+                continue;
+            }
+            results[i] = TaskBatchItemResult.succeeded(i, HttpStatus.NO_CONTENT.value(), null);
+            deleted.add(task);
+        }
+
+        taskRepository.deleteAllInBatch(deleted);
+        deleted.forEach(task -> dueSoonScheduler.taskDeleted(task.getId()));
+        taskStats.tasksChanged(userId, deleted.stream().map(Task::getStatus).toList(), List.of());
+        eventPublisher.publishTaskEvents(deleted.stream()
+                .map(task -> TaskEvent.deleted(task.getId(), userId, eventData(task)))
+                .toList());
+        return Arrays.asList(results);
+    }
+
+    // Reduces free text to words only, so user input can never be parsed as tsquery operators
+    private static String toPrefixQuery(String text) {
+        List<String> words = NON_WORD.splitAsStream(text == null ? "" : text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .toList();
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain a letter or digit");
+        }
+        return String.join(" & ", words) + ":*";
+    }
+
+    // Zero rows matched: tell a missing task apart from a stale version, on the failure path only
+    private RuntimeException updateMiss(Long taskId, Long userId) {
+        return taskRepository.existsByIdAndUserId(taskId, userId)
+                ? new OptimisticLockingFailureException(STALE_VERSION)
+                : new ResourceNotFoundException("Task not found");
+    }
+
+    private Map<Long, Task> findOwned(List<Long> taskIds, Long userId) {
+        if (taskIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return taskRepository.findByIdInAndUserId(taskIds, userId).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    private String validationError(Object request) {
+        if (request == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private void applyChanges(Task task, String title, String description, LocalDateTime dueDate,
+                              com.agendapulse.common.model.task.TaskStatus status) {
+        if (title != null) {
+            task.setTitle(title);
+        }
+        if (description != null) {
+            task.setDescription(description);
+        }
+        if (dueDate != null) {
+            if (!dueDate.equals(task.getDueDate())) {
+                // A new deadline gets its own due-soon notification
+                task.setDueSoonNotifiedAt(null);
+            }
+            task.setDueDate(dueDate);
+        }
+        if (status != null) {
+            task.setStatus(TaskStatus.valueOf(status.name()));
+        }
+    }
+
+    private TaskEventData eventData(Task task) {
+        return new TaskEventData(
+                task.getTitle(),
+                task.getDescription(),
+                task.getDueDate(),
+                com.agendapulse.common.model.task.TaskStatus.valueOf(task.getStatus().name())
+        );
     }
     
     private TaskResponse toResponse(Task task) {
@@ -119,7 +443,8 @@ public class TaskService {
                 com.agendapulse.common.model.task.TaskStatus.valueOf(task.getStatus().name()),
                 task.getUserId(),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.agendapulse.task.stats;
+
+import com.agendapulse.common.model.task.TaskStatsResponse;
+import com.agendapulse.task.domain.TaskStatus;
+import com.agendapulse.task.repository.TaskRepository;
+import com.agendapulse.task.scheduling.DueSoonScheduler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-user task counts for {@code /api/tasks/stats}.
+ * Counts per status live in {@code task_status_counts} and are incremented in the transaction that
+ * changes the tasks, so answering never counts tasks. Answers are cached per user in memory and
+ * evicted after this instance commits a change; {@code cache-ttl} bounds how long other instances'
+ * changes and newly overdue tasks take to show. {@link #reconcile()} repairs counts that drifted.
+ * The overdue count stays a query: tasks become overdue as time passes, without a write that could adjust
+ * a counter. It is a range scan over one user's open tasks on {@code idx_tasks_user_status_due}, and cached.
+ */
+@Component
+@Slf4j
+public class TaskStats {
+
+    // Advisory lock key, lets a single instance reconcile at a time
+    private static final long RECONCILE_LOCK = 0x7461736b73746174L;
+    private static final int RECONCILE_BATCH_USERS = 500;
+
+    private final TaskStatusCountRepository countRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, TaskStatsResponse> cache;
+    private final Counter repaired;
+
+    public TaskStats(TaskStatusCountRepository countRepository,
+                     TaskRepository taskRepository,
+                     PlatformTransactionManager transactionManager,
+                     JdbcTemplate jdbcTemplate,
+                     MeterRegistry meterRegistry,
+                     @Value("${tasks.stats.cache-max-size:100000}") long cacheMaxSize,
+                     @Value("${tasks.stats.cache-ttl:30s}") Duration cacheTtl) {
+        this.countRepository = countRepository;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tasks.stats");
+        this.repaired = Counter.builder("tasks.stats.repaired")
+                .description("Status counts corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    public TaskStatsResponse get(Long userId) {
+        return cache.get(userId, this::load);
+    }
+
+    /**
+     * Applies the net change of a write to the user's counts, in the caller's transaction.
+     * Rows are written in status name order, the order every writer of {@code task_status_counts} locks them in.
+     * @param removed Statuses of tasks deleted or moved out of a status.
+     * @param added Statuses of tasks created or moved into a status.
+     */
+    public void tasksChanged(Long userId, Collection<TaskStatus> removed, Collection<TaskStatus> added) {
+        Map<String, Long> deltas = new TreeMap<>();
+        removed.forEach(status -> deltas.merge(status.name(), -1L, Long::sum));
+        added.forEach(status -> deltas.merge(status.name(), 1L, Long::sum));
+        deltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                countRepository.increment(userId, status, delta);
+            }
+        });
+        evictAfterCommit(userId);
+    }
+
+    /**
+     * Drops the cached answer once the caller's transaction commits, for writes whose counts
+     * were already adjusted in SQL or that only move a due date.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Recounts all tasks and repairs drifted counts, {@code RECONCILE_BATCH_USERS} users per transaction.
+     * Also fills the counts of tasks that existed before they were kept. Only writers of the users in the
+     * current batch wait, and only one instance reconciles at a time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tasks.stats.reconcile-interval:1h}", initialDelayString = "${tasks.stats.reconcile-interval:1h}")
+    public void reconcile() {
+        // Held on a connection of its own for the whole run, and released by the database if this instance dies
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                return false;
+            }
+            try {
+                reconcileAll();
+                return true;
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+            }
+        });
+        if (!Boolean.TRUE.equals(ran)) {
+            log.debug("Task counts are being reconciled by another instance");
+        }
+    }
+
+    private void reconcileAll() {
+        long start = System.nanoTime();
+        long corrected = 0;
+        long afterUserId = Long.MIN_VALUE;
+        List<Long> userIds;
+        do {
+            userIds = countRepository.findUserIdsAfter(afterUserId, RECONCILE_BATCH_USERS);
+            // The last batch reaches to the end, so it also covers counts of users without tasks left
+            long fromUserId = afterUserId;
+            long upToUserId = userIds.size() == RECONCILE_BATCH_USERS ? userIds.get(userIds.size() - 1) : Long.MAX_VALUE;
+            Long batchCorrected = transactionTemplate.execute(status -> {
+                countRepository.createMissing(fromUserId, upToUserId);
+                countRepository.lockUsers(fromUserId, upToUserId);
+                return countRepository.reconcile(fromUserId, upToUserId);
+            });
+            corrected += batchCorrected != null ? batchCorrected : 0;
+            afterUserId = upToUserId;
+        } while (userIds.size() == RECONCILE_BATCH_USERS);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        if (corrected > 0) {
+            repaired.increment(corrected);
+            cache.invalidateAll();
+            log.warn("Reconciled task counts in {} ms, corrected {}", elapsedMillis, corrected);
+        } else {
+            log.debug("Reconciled task counts in {} ms, no drift", elapsedMillis);
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, RECONCILE_LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private TaskStatsResponse load(Long userId) {
+        Map<com.agendapulse.common.model.task.TaskStatus, Long> byStatus =
+                new EnumMap<>(com.agendapulse.common.model.task.TaskStatus.class);
+        for (com.agendapulse.common.model.task.TaskStatus status : com.agendapulse.common.model.task.TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        long total = 0;
+        for (TaskStatusCount count : countRepository.findByUserId(userId)) {
+            // A drifted count can dip below zero until the next reconciliation
+            long taskCount = Math.max(0, count.getTaskCount());
+            byStatus.put(com.agendapulse.common.model.task.TaskStatus.valueOf(count.getStatus().name()), taskCount);
+            total += taskCount;
+        }
+        long overdue = taskRepository.countOverdue(userId, DueSoonScheduler.OPEN_STATUSES, LocalDateTime.now());
+        return new TaskStatsResponse(byStatus, total, overdue);
+    }
+}
@@ -0,0 +1,40 @@
+package com.agendapulse.task.stats;
+
+import com.agendapulse.task.domain.TaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Number of tasks a user has in one status, kept up to date in the transactions that change tasks
+ * and corrected by {@link TaskStats#reconcile()}.
+ */
+@Entity
+@Table(name = "task_status_counts")
+@IdClass(TaskStatusCount.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusCount {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private TaskStatus status;
+    }
+}
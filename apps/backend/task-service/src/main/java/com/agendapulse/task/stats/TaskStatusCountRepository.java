@@ -0,0 +1,72 @@
+package com.agendapulse.task.stats;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskStatusCountRepository extends JpaRepository<TaskStatusCount, TaskStatusCount.Key> {
+
+    List<TaskStatusCount> findByUserId(Long userId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_counts (user_id, status, task_count) VALUES (:userId, :status, :delta)
+            ON CONFLICT (user_id, status) DO UPDATE SET task_count = task_status_counts.task_count + EXCLUDED.task_count
+            """, nativeQuery = true)
+    void increment(@Param("userId") Long userId, @Param("status") String status, @Param("delta") long delta);
+
+    // Keyset over the users that have tasks, walking the user_id prefix of idx_tasks_user_status_due
+    @Query(value = "SELECT DISTINCT user_id FROM tasks WHERE user_id > :afterUserId ORDER BY user_id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findUserIdsAfter(@Param("afterUserId") long afterUserId, @Param("limit") int limit);
+
+    // Count rows for the users' statuses that have none yet, so the recount can lock every row it writes
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_status_counts (user_id, status, task_count)
+            SELECT DISTINCT user_id, status, 0 FROM tasks WHERE user_id > :afterUserId AND user_id <= :upToUserId
+            ON CONFLICT (user_id, status) DO NOTHING
+            """, nativeQuery = true)
+    int createMissing(@Param("afterUserId") long afterUserId, @Param("upToUserId") long upToUserId);
+
+    /**
+     * Locks the count rows of the users in {@code (afterUserId, upToUserId]} for the rest of the transaction,
+     * per user in status name order like the writers.
+     * Writers that change these users' tasks wait on them until the recount commits, and the recount sees every
+     * write that committed before.
+     * @return Number of rows locked.
+     */
+    @Query(value = """
+            SELECT count(*) FROM (
+                SELECT 1 FROM task_status_counts WHERE user_id > :afterUserId AND user_id <= :upToUserId
+                ORDER BY user_id, status COLLATE "C"
+                FOR UPDATE) locked
+            """, nativeQuery = true)
+    long lockUsers(@Param("afterUserId") long afterUserId, @Param("upToUserId") long upToUserId);
+
+    /**
+     * Recounts the tasks of the users in {@code (afterUserId, upToUserId]} and overwrites the counts that drifted.
+     * Run after {@link #createMissing} and {@link #lockUsers} in the same transaction.
+     * @return Number of counts that were corrected.
+     */
+    @Query(value = """
+            WITH actual AS (
+                SELECT user_id, status, count(*) AS task_count FROM tasks
+                WHERE user_id > :afterUserId AND user_id <= :upToUserId
+                GROUP BY user_id, status),
+            expected AS (
+                SELECT c.user_id, c.status, COALESCE(a.task_count, 0) AS task_count
+                FROM task_status_counts c LEFT JOIN actual a ON a.user_id = c.user_id AND a.status = c.status
+                WHERE c.user_id > :afterUserId AND c.user_id <= :upToUserId),
+            repaired AS (
+                UPDATE task_status_counts c SET task_count = e.task_count
+                FROM expected e
+                WHERE c.user_id = e.user_id AND c.status = e.status AND c.task_count <> e.task_count
+                RETURNING 1)
+            SELECT count(*) FROM repaired
+            """, nativeQuery = true)
+    long reconcile(@Param("afterUserId") long afterUserId, @Param("upToUserId") long upToUserId);
+}
@@ -0,0 +1,74 @@
+package com.agendapulse.task.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTests {
+
+    @Test
+    void readsRecordsSeparatedByAnyLineBreak() throws IOException {
+        assertThat(records("a,b\nc,d\r\ne,f\rg,h")).containsExactly(
+                List.of("a", "b"), List.of("c", "d"), List.of("e", "f"), List.of("g", "h"));
+    }
+
+    @Test
+    void trailingLineBreakDoesNotAddARecord() throws IOException {
+        assertThat(records("a,b\r\n")).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(records(",a,,\n\n")).containsExactly(List.of("", "a", "", ""), List.of(""));
+    }
+
+    @Test
+    void quotedFieldsMayContainSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertThat(records("\"a,b\",\"say \"\"hi\"\"\",\"line\r\nbreak\"\nnext")).containsExactly(
+                List.of("a,b", "say \"hi\"", "line\r\nbreak"), List.of("next"));
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsKept() throws IOException {
+        assertThat(records("5\" disk,x")).containsExactly(List.of("5\" disk", "x"));
+    }
+
+    @Test
+    void skipsTheByteOrderMark() throws IOException {
+        assertThat(records("\uFEFFtitle,status\n")).containsExactly(List.of("title", "status"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(records("")).isEmpty();
+    }
+
+    @Test
+    void rejectsAnUnclosedQuote() {
+        assertThatThrownBy(() -> records("a,\"b\nc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not closed");
+    }
+
+    @Test
+    void rejectsARecordLongerThanOneMebibyte() {
+        assertThatThrownBy(() -> records("a," + "x".repeat(1 << 20)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds");
+    }
+
+    private static List<List<String>> records(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        for (List<String> record; (record = reader.readRecord()) != null; ) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,72 @@
+package com.agendapulse.task.scheduling;
+
+import com.agendapulse.task.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the keyset positions the load scans start from, against a mocked repository.
+ */
+class DueSoonSchedulerTests {
+
+    private static final Duration LEAD_TIME = Duration.ofHours(1);
+    private static final Duration WINDOW = Duration.ofMinutes(10);
+
+    private final TaskRepository repository = mock(TaskRepository.class);
+    private final DueSoonNotifier notifier = mock(DueSoonNotifier.class);
+    private DueSoonScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findDueAfter(any(), anyLong(), any(), any(), any())).thenReturn(List.of());
+        scheduler = new DueSoonScheduler(repository, notifier, new SimpleMeterRegistry(), LEAD_TIME, WINDOW,
+                Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    void firstScanIncludesTasksDueNow() {
+        LocalDateTime before = LocalDateTime.now();
+        scheduler.load();
+
+        ArgumentCaptor<LocalDateTime> dueDate = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+        verify(repository).findDueAfter(dueDate.capture(), id.capture(), any(), any(), any());
+        // Every id sorts after MIN_VALUE, so a task due exactly at the start is in range
+        assertThat(dueDate.getValue()).isAfterOrEqualTo(before).isBeforeOrEqualTo(LocalDateTime.now());
+        assertThat(id.getValue()).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void laterScanContinuesAfterTheLoadedRange() {
+        scheduler.load();
+        scheduler.load();
+
+        ArgumentCaptor<LocalDateTime> dueDate = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<Long> id = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, times(2)).findDueAfter(dueDate.capture(), id.capture(), until.capture(), any(), any());
+        // The first scan included tasks due exactly at its end, so the second starts past all of them
+        assertThat(dueDate.getAllValues().get(1)).isEqualTo(until.getAllValues().get(0));
+        assertThat(id.getAllValues().get(1)).isEqualTo(Long.MAX_VALUE);
+    }
+}
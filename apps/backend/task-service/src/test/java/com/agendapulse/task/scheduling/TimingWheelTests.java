@@ -0,0 +1,81 @@
+package com.agendapulse.task.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A wheel of one-millisecond ticks and eight slots.
+ */
+class TimingWheelTests {
+
+    private static final int SLOTS = 8;
+
+    private final TimingWheel<Long> wheel = new TimingWheel<>(1, SLOTS, 0);
+    private final List<Long> expired = new ArrayList<>();
+
+    @Test
+    void deadlinesOfTheSameTickExpireTogetherInSchedulingOrder() {
+        wheel.schedule(1L, 5);
+        wheel.schedule(2L, 5);
+
+        wheel.advance(4, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(5, expired::add);
+        assertThat(expired).containsExactly(1L, 2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesSeveralTurnsOutWaitForTheirOwnTurn() {
+        long[] deadlines = {3, 3 + SLOTS, 3 + 2 * SLOTS, 3 + 10 * SLOTS};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long now = 0; now <= deadlines[deadlines.length - 1]; now++) {
+            long tick = now;
+            wheel.advance(now, item -> {
+                assertThat(item).as("expired at %d", tick).isEqualTo(tick);
+                expired.add(item);
+            });
+        }
+        assertThat(expired).containsExactly(3L, 3L + SLOTS, 3L + 2 * SLOTS, 3L + 10 * SLOTS);
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        wheel.advance(100, expired::add);
+
+        wheel.schedule(1L, 50);
+        wheel.schedule(2L, 100);
+
+        wheel.advance(100, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(101, expired::add);
+        assertThat(expired).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void largeClockJumpExpiresEverythingDueInDeadlineOrder() {
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long deadline = random.nextLong(10_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        wheel.schedule(-1L, 10_001);
+
+        wheel.advance(10_000, expired::add);
+
+        assertThat(expired).containsExactlyInAnyOrderElementsOf(deadlines).isSorted();
+        assertThat(wheel.size()).isOne();
+    }
+}
@@ -0,0 +1,159 @@
+package com.agendapulse.task.stats;
+
+import com.agendapulse.task.domain.Task;
+import com.agendapulse.task.domain.TaskStatus;
+import com.agendapulse.task.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opposite status changes of one user's tasks, run concurrently many times. With count rows locked in
+ * different orders, Postgres aborts one of each deadlocked pair and the run fails.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class TaskStatusCountLockOrderTests {
+
+    private static final long USER_ID = 42L;
+    private static final int ROUNDS = 200;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskStatusCountRepository countRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+    private TaskStats taskStats;
+    private Task todo;
+    private Task completed;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        taskStats = new TaskStats(countRepository, taskRepository, transactionManager, jdbcTemplate,
+                new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+        taskRepository.deleteAll();
+        countRepository.deleteAll();
+
+        todo = taskRepository.save(task(TaskStatus.TODO));
+        completed = taskRepository.save(task(TaskStatus.COMPLETED));
+        transactionTemplate.executeWithoutResult(status ->
+                taskStats.tasksChanged(USER_ID, List.of(), List.of(TaskStatus.TODO, TaskStatus.COMPLETED)));
+    }
+
+    @Test
+    void oppositeUpdatesInOneStatementDoNotDeadlock() throws Exception {
+        runConcurrently(
+                round -> move(todo.getId(), round % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.TODO),
+                round -> move(completed.getId(), round % 2 == 0 ? TaskStatus.TODO : TaskStatus.COMPLETED));
+
+        assertThat(counts()).containsEntry(TaskStatus.TODO, 1L).containsEntry(TaskStatus.COMPLETED, 1L);
+    }
+
+    @Test
+    void oppositeCountChangesDoNotDeadlock() throws Exception {
+        runConcurrently(
+                round -> transactionTemplate.executeWithoutResult(status ->
+                        taskStats.tasksChanged(USER_ID, List.of(TaskStatus.TODO), List.of(TaskStatus.COMPLETED))),
+                round -> transactionTemplate.executeWithoutResult(status ->
+                        taskStats.tasksChanged(USER_ID, List.of(TaskStatus.COMPLETED), List.of(TaskStatus.TODO))));
+
+        assertThat(counts()).containsEntry(TaskStatus.TODO, 1L).containsEntry(TaskStatus.COMPLETED, 1L);
+    }
+
+    @Test
+    void statementUpdatesDoNotDeadlockWithReconciliation() throws Exception {
+        runConcurrently(
+                round -> move(todo.getId(), round % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.TODO),
+                round -> transactionTemplate.executeWithoutResult(status -> {
+                    countRepository.lockUsers(USER_ID - 1, USER_ID);
+                    countRepository.reconcile(USER_ID - 1, USER_ID);
+                }));
+
+        assertThat(counts()).containsEntry(TaskStatus.TODO, 1L).containsEntry(TaskStatus.COMPLETED, 1L);
+    }
+
+    private void move(Long taskId, TaskStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> taskRepository.updateReturning(
+                taskId, USER_ID, null, null, null, status.name(), null, LocalDateTime.now()));
+    }
+
+    // Both actions start each round together; any exception, such as a detected deadlock, fails the test
+    private void runConcurrently(Round first, Round second) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Void> a = CompletableFuture.runAsync(() -> repeat(barrier, first), executor);
+            CompletableFuture<Void> b = CompletableFuture.runAsync(() -> repeat(barrier, second), executor);
+            CompletableFuture.allOf(a, b).get(2, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void repeat(CyclicBarrier barrier, Round action) {
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                barrier.await(10, TimeUnit.SECONDS);
+                action.run(round);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<TaskStatus, Long> counts() {
+        return countRepository.findByUserId(USER_ID).stream()
+                .collect(Collectors.toMap(TaskStatusCount::getStatus, TaskStatusCount::getTaskCount));
+    }
+
+    private static Task task(TaskStatus status) {
+        return Task.builder()
+                .title(status.name())
+                .status(status)
+                .userId(USER_ID)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        void run(int round);
+    }
+}
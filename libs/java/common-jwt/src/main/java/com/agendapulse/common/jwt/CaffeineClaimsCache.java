@@ -0,0 +1,63 @@
+package com.agendapulse.common.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Instant;
+
+/**
+ * Size-bounded claims cache whose entries expire together with their token.
+ */
+public class CaffeineClaimsCache implements ClaimsCache {
+
+    private final Cache<TokenDigest, JwtPrincipal> cache;
+
+    public CaffeineClaimsCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public JwtPrincipal get(TokenDigest digest) {
+        JwtPrincipal principal = cache.getIfPresent(digest);
+        if (principal != null && !principal.expiresAt().isAfter(Instant.now())) {
+            return null;
+        }
+        return principal;
+    }
+
+    @Override
+    public void put(TokenDigest digest, JwtPrincipal principal) {
+        cache.put(digest, principal);
+    }
+
+    /**
+     * Exposes the underlying cache so services can bind its statistics to their metrics registry.
+     */
+    public Cache<TokenDigest, JwtPrincipal> nativeCache() {
+        return cache;
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtPrincipal value, long currentTime) {
+            long millis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0L, millis) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.agendapulse.common.jwt;
+
+/**
+ * Remembers principals of tokens that already passed signature verification.
+ * Keys are digests of the full compact token, never the raw token itself.
+ */
+public interface ClaimsCache {
+
+    /**
+     * @param digest The digest of the compact token.
+     * @return The cached principal, or null if the token has not been verified yet.
+     */
+    JwtPrincipal get(TokenDigest digest);
+
+    /**
+     * Stores a verified principal. Implementations must not serve it after {@link JwtPrincipal#expiresAt()}.
+     * @param digest The digest of the compact token.
+     * @param principal The principal extracted from the verified token.
+     */
+    void put(TokenDigest digest, JwtPrincipal principal);
+
+    /**
+     * A cache that stores nothing, so every call verifies the signature.
+     */
+    static ClaimsCache none() {
+        return NoOpClaimsCache.INSTANCE;
+    }
+}
@@ -0,0 +1,10 @@
+package com.agendapulse.common.jwt;
+
+import java.time.Instant;
+
+public record JwtPrincipal(
+    String userId,
+    String email,
+    Instant expiresAt,
+    String tokenId
+) {}
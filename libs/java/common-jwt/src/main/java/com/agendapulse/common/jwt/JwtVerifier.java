@@ -0,0 +1,93 @@
+package com.agendapulse.common.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Thread-safe verifier for tokens issued by auth-service.
+ * The parser is built once; verified tokens are looked up in a {@link ClaimsCache} before
+ * the signature is checked again. Revoked token ids are checked on every call, cached or not.
+ */
+public class JwtVerifier {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtParser parser;
+    private final ClaimsCache claimsCache;
+    private final RevocationList revocations;
+
+    public JwtVerifier(SecretKey key, ClaimsCache claimsCache, RevocationList revocations) {
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.claimsCache = claimsCache;
+        this.revocations = revocations;
+    }
+
+    public JwtVerifier(SecretKey key, ClaimsCache claimsCache) {
+        this(key, claimsCache, new RevocationList());
+    }
+
+    public JwtVerifier(String secret, ClaimsCache claimsCache, RevocationList revocations) {
+        this(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), claimsCache, revocations);
+    }
+
+    public JwtVerifier(String secret, ClaimsCache claimsCache) {
+        this(secret, claimsCache, new RevocationList());
+    }
+
+    /**
+     * Verifies a compact token and returns its principal, parsing it at most once.
+     * @param token The compact JWT.
+     * @return The principal carried by the token.
+     * @throws JwtException if the token is malformed, tampered with, expired or revoked.
+     */
+    public JwtPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new JwtException("Token is empty");
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        JwtPrincipal cached = claimsCache.get(digest);
+        if (cached != null) {
+            return notRevoked(cached);
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                expiration != null ? expiration.toInstant() : null,
+                claims.getId());
+
+        if (expiration != null) {
+            claimsCache.put(digest, principal);
+        }
+        return notRevoked(principal);
+    }
+
+    private JwtPrincipal notRevoked(JwtPrincipal principal) {
+        if (revocations.isRevoked(principal.tokenId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return principal;
+    }
+
+    /**
+     * Extracts the token from an {@code Authorization} header value.
+     * @param authorizationHeader The raw header value, may be null.
+     * @return The compact token, or null if the header is not a bearer header.
+     */
+    public static String bearerToken(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorizationHeader.substring(BEARER_PREFIX.length());
+    }
+}
@@ -0,0 +1,14 @@
+package com.agendapulse.common.jwt;
+
+enum NoOpClaimsCache implements ClaimsCache {
+    INSTANCE;
+
+    @Override
+    public JwtPrincipal get(TokenDigest digest) {
+        return null;
+    }
+
+    @Override
+    public void put(TokenDigest digest, JwtPrincipal principal) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.agendapulse.common.jwt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids ({@code jti}) of tokens revoked before their expiry.
+ * An entry is only useful until the token would have expired anyway, so entries are dropped at
+ * that point and the set never holds more than the revocations of one token lifetime.
+ * Lookups are a single hash probe with no I/O.
+ */
+public class RevocationList {
+
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+
+    // Token ids are UUIDs, kept as two longs instead of a 36 character string
+    private final Map<UUID, Long> expiryByTokenId = new ConcurrentHashMap<>();
+    private final Clock clock;
+    private volatile long nextPruneMillis;
+
+    public RevocationList() {
+        this(Clock.systemUTC());
+    }
+
+    public RevocationList(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Adds a token id, ignoring tokens that already expired.
+     * @param tokenId The {@code jti} of the token.
+     * @param expiresAt When the token expires; the entry is dropped after that.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        UUID id = parse(tokenId);
+        long now = clock.millis();
+        if (id != null && expiresAt != null && expiresAt.toEpochMilli() > now) {
+            expiryByTokenId.put(id, expiresAt.toEpochMilli());
+        }
+        if (now >= nextPruneMillis) {
+            prune();
+        }
+    }
+
+    /**
+     * @param tokenId The {@code jti} of a token that passed verification, may be null.
+     * @return Whether the token was revoked. Tokens without an id cannot be revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        UUID id = parse(tokenId);
+        return id != null && expiryByTokenId.containsKey(id);
+    }
+
+    /**
+     * Drops entries of tokens that expired. Called from {@link #revoke}, so a list that keeps
+     * receiving revocations stays bounded without a scheduler.
+     */
+    public void prune() {
+        long now = clock.millis();
+        nextPruneMillis = now + PRUNE_INTERVAL.toMillis();
+        expiryByTokenId.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    public int size() {
+        return expiryByTokenId.size();
+    }
+
+    private static UUID parse(String tokenId) {
+        if (tokenId == null || tokenId.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(tokenId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.agendapulse.common.jwt;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 of a compact token, held as four longs so cache keys stay small and cheap to compare.
+ */
+public record TokenDigest(long h0, long h1, long h2, long h3) {
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    public static TokenDigest of(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return new TokenDigest(
+                (long) LONGS.get(hash, 0),
+                (long) LONGS.get(hash, 8),
+                (long) LONGS.get(hash, 16),
+                (long) LONGS.get(hash, 24));
+    }
+}
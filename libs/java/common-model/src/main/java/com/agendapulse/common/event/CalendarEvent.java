@@ -24,4 +24,8 @@ public record CalendarEvent(
     public static CalendarEvent completed(Long eventId, Long userId, CalendarEventData data) {
         return new CalendarEvent(eventId, userId, "CALENDAR_EVENT_COMPLETED", LocalDateTime.now(), data);
     }
+
+    public static CalendarEvent deleted(Long eventId, Long userId, CalendarEventData data) {
+        return new CalendarEvent(eventId, userId, "CALENDAR_EVENT_DELETED", LocalDateTime.now(), data);
+    }
 }
@@ -0,0 +1,25 @@
+package com.agendapulse.common.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Summary of one committed chunk of a bulk import, published instead of one created event per row.
+ */
+public record ImportChunkEvent(
+    UUID importId,
+    Long userId,
+    String eventType,
+    int chunk,
+    int imported,
+    int failed,
+    LocalDateTime timestamp
+) {
+    public static ImportChunkEvent tasksImported(UUID importId, Long userId, int chunk, int imported, int failed) {
+        return new ImportChunkEvent(importId, userId, "TASKS_IMPORTED", chunk, imported, failed, LocalDateTime.now());
+    }
+
+    public static ImportChunkEvent calendarEventsImported(UUID importId, Long userId, int chunk, int imported, int failed) {
+        return new ImportChunkEvent(importId, userId, "CALENDAR_EVENTS_IMPORTED", chunk, imported, failed, LocalDateTime.now());
+    }
+}
@@ -20,4 +20,12 @@ public record TaskEvent(
     public static TaskEvent completed(Long taskId, Long userId, TaskEventData data) {
         return new TaskEvent(taskId, userId, "TASK_COMPLETED", LocalDateTime.now(), data);
     }
+    
+    public static TaskEvent deleted(Long taskId, Long userId, TaskEventData data) {
+        return new TaskEvent(taskId, userId, "TASK_DELETED", LocalDateTime.now(), data);
+    }
+    
+    public static TaskEvent dueSoon(Long taskId, Long userId, TaskEventData data) {
+        return new TaskEvent(taskId, userId, "TASK_DUE_SOON", LocalDateTime.now(), data);
+    }
 }
\ No newline at end of file
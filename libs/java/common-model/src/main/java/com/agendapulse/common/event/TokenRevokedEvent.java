@@ -0,0 +1,15 @@
+package com.agendapulse.common.event;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+public record TokenRevokedEvent(
+    String tokenId,
+    String userId,
+    Instant expiresAt,
+    LocalDateTime timestamp
+) {
+    public static TokenRevokedEvent of(String tokenId, String userId, Instant expiresAt) {
+        return new TokenRevokedEvent(tokenId, userId, expiresAt, LocalDateTime.now());
+    }
+}
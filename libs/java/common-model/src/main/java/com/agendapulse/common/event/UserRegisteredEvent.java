@@ -0,0 +1,13 @@
+package com.agendapulse.common.event;
+
+import java.time.LocalDateTime;
+
+public record UserRegisteredEvent(
+    String userId,
+    String email,
+    LocalDateTime timestamp
+) {
+    public static UserRegisteredEvent of(String userId, String email) {
+        return new UserRegisteredEvent(userId, email, LocalDateTime.now());
+    }
+}
@@ -12,5 +12,6 @@ public record CalendarEventResponse (
     CalendarEventStatus status,
     Long userId,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt
+    LocalDateTime updatedAt,
+    Long version
 ) {}
@@ -8,5 +8,7 @@ public record UpdateCalendarEventRequest(
     LocalDateTime startTime,
     LocalDateTime endTime,
     LocalDateTime reminderTime,
-    CalendarEventStatus status
+    CalendarEventStatus status,
+    // Version the client last saw; when set, the update only applies if nobody changed the event since
+    Long version
 ) {}
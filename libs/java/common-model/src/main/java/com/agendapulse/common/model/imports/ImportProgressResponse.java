@@ -0,0 +1,22 @@
+package com.agendapulse.common.model.imports;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk import. Rows are committed chunk by chunk, so {@code rowsImported} are stored
+ * even if the import fails later on; {@code errors} lists the first rejected rows, {@code failureReason}
+ * why the import as a whole stopped.
+ */
+public record ImportProgressResponse(
+    UUID id,
+    ImportStatus status,
+    long rowsRead,
+    long rowsImported,
+    long rowsFailed,
+    List<String> errors,
+    String failureReason,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {}
@@ -0,0 +1,8 @@
+package com.agendapulse.common.model.imports;
+
+public enum ImportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.agendapulse.common.model.page;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * {@code nextCursor} is passed back as {@code cursor} to get the following page and is null on the last one.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {}
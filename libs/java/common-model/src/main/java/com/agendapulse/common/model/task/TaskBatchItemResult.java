@@ -0,0 +1,20 @@
+package com.agendapulse.common.model.task;
+
+/**
+ * Outcome of one item of a batch request, in request order.
+ * {@code status} is the HTTP status the single-item endpoint would have answered with.
+ */
+public record TaskBatchItemResult(
+    int index,
+    int status,
+    TaskResponse task,
+    String error
+) {
+    public static TaskBatchItemResult succeeded(int index, int status, TaskResponse task) {
+        return new TaskBatchItemResult(index, status, task, null);
+    }
+
+    public static TaskBatchItemResult failed(int index, int status, String error) {
+        return new TaskBatchItemResult(index, status, null, error);
+    }
+}
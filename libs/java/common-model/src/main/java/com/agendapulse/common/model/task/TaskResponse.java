@@ -10,5 +10,6 @@ public record TaskResponse(
     TaskStatus status,
     Long userId,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt
+    LocalDateTime updatedAt,
+    Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.agendapulse.common.model.task;
+
+import java.util.Map;
+
+/**
+ * Task counts of one user. {@code overdue} counts open tasks whose due date passed.
+ */
+public record TaskStatsResponse(
+    Map<TaskStatus, Long> byStatus,
+    long total,
+    long overdue
+) {}
@@ -12,5 +12,8 @@ public record UpdateTaskRequest(
     
     LocalDateTime dueDate,
     
-    TaskStatus status
+    TaskStatus status,
+
+    // Version the client last saw; when set, the update only applies if nobody changed the task since
+    Long version
 ) {}
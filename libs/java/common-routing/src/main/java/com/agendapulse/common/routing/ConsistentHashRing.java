@@ -0,0 +1,99 @@
+package com.agendapulse.common.routing;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent-hash ring mapping keys (user ids) to nodes.
+ * Every node is placed at a number of virtual points, so adding or removing a node only
+ * moves the keys that land next to its points, roughly 1/N of them.
+ * The gateway and the notification nodes must build the ring from the same node ids
+ * and virtual node count to agree on ownership.
+ */
+public final class ConsistentHashRing {
+
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    private ConsistentHashRing(List<String> nodes, long[] points, String[] owners) {
+        this.nodes = nodes;
+        this.points = points;
+        this.owners = owners;
+    }
+
+    public static ConsistentHashRing of(Collection<String> nodes) {
+        return of(nodes, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * @param nodes Stable node ids, e.g. {@code host:port}. Order and duplicates do not matter.
+     */
+    public static ConsistentHashRing of(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        // Sorted so ties between colliding points resolve the same way everywhere
+        Set<String> distinct = new TreeSet<>(nodes);
+        int size = distinct.size() * virtualNodes;
+
+        long[] hashes = new long[size];
+        String[] byIndex = distinct.toArray(String[]::new);
+        int i = 0;
+        for (int n = 0; n < byIndex.length; n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = Hashes.hash64(byIndex[n] + '#' + v);
+                i++;
+            }
+        }
+
+        Integer[] order = new Integer[size];
+        for (int k = 0; k < size; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Long.compareUnsigned(hashes[a], hashes[b]));
+
+        long[] points = new long[size];
+        String[] owners = new String[size];
+        for (int k = 0; k < size; k++) {
+            points[k] = hashes[order[k]];
+            owners[k] = byIndex[order[k] / virtualNodes];
+        }
+        return new ConsistentHashRing(List.of(byIndex), points, owners);
+    }
+
+    /**
+     * @return The node owning the key, or null if the ring is empty.
+     */
+    public String nodeFor(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        long hash = Hashes.hash64(key);
+        // First point clockwise from the key, wrapping to the start of the ring
+        int low = 0;
+        int high = points.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], hash) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return owners[low == points.length ? 0 : low];
+    }
+
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    public boolean isEmpty() {
+        return nodes.isEmpty();
+    }
+}
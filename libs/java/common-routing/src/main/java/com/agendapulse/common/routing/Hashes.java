@@ -0,0 +1,27 @@
+package com.agendapulse.common.routing;
+
+import java.nio.charset.StandardCharsets;
+
+final class Hashes {
+
+    private Hashes() {
+    }
+
+    /**
+     * 64-bit FNV-1a with a murmur3 finalizer. Spreads short, similar keys such as sequential user ids
+     * and "node#n" far better than String.hashCode. The ring depends on it staying the same on every node.
+     */
+    static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}